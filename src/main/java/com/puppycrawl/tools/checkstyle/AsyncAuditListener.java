@@ -0,0 +1,277 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+
+/**
+ * Forwards audit events to other listeners on a dedicated thread, so that
+ * slow listeners do not hold up the auditing threads. Events are queued in
+ * a bounded buffer and delivered in the order they were received; the
+ * auditing threads wait while the buffer is full.
+ *
+ * <p>A failure of a listener is rethrown to the auditing thread by the next
+ * notification or by {@link #close()}, events queued meanwhile are dropped.
+ * @author the original author or authors.
+ */
+final class AsyncAuditListener implements AuditListener {
+    /** Milliseconds to wait for room in the queue before checking for failures. */
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    /** The listeners the events are forwarded to. */
+    private final List<AuditListener> listeners;
+
+    /** The events not delivered yet. */
+    private final BlockingQueue<Notification> queue;
+
+    /** The thread delivering the events. */
+    private final Thread consumer;
+
+    /** The first failure of a listener, null if none. */
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates a new instance and starts its delivery thread.
+     * @param listeners the listeners to forward the events to
+     * @param capacity the number of events that may be queued
+     */
+    AsyncAuditListener(List<AuditListener> listeners, int capacity) {
+        this.listeners = ImmutableList.copyOf(listeners);
+        queue = new ArrayBlockingQueue<>(capacity);
+        consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                deliverEvents();
+            }
+        }, "checkstyle-audit-listener");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        enqueue(new Notification(EventType.AUDIT_STARTED, event, null));
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        enqueue(new Notification(EventType.AUDIT_FINISHED, event, null));
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        enqueue(new Notification(EventType.FILE_STARTED, event, null));
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        enqueue(new Notification(EventType.FILE_FINISHED, event, null));
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        enqueue(new Notification(EventType.ERROR, event, null));
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        enqueue(new Notification(EventType.EXCEPTION, event, throwable));
+    }
+
+    /**
+     * Waits until all queued events are delivered and stops the delivery
+     * thread.
+     * @throws RuntimeException the failure of a listener, if any
+     */
+    void close() {
+        final Notification end = new Notification(EventType.END, null, null);
+        try {
+            boolean queued = false;
+            while (!queued && consumer.isAlive()) {
+                queued = queue.offer(end, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            consumer.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while delivering audit events", ex);
+        }
+        checkFailure();
+    }
+
+    /**
+     * Queues a notification, waiting while the queue is full.
+     * @param notification the notification to queue
+     */
+    private void enqueue(Notification notification) {
+        try {
+            boolean queued = false;
+            while (!queued) {
+                checkFailure();
+                queued = queue.offer(notification, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing audit event", ex);
+        }
+    }
+
+    /**
+     * Rethrows the failure of a listener, if any.
+     * @throws RuntimeException the failure
+     */
+    private void checkFailure() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Delivers the queued events until the end of the audit is queued. */
+    private void deliverEvents() {
+        boolean ended = false;
+        try {
+            while (!ended) {
+                final Notification notification = queue.take();
+                ended = notification.type == EventType.END;
+                if (!ended && failure == null) {
+                    deliver(notification);
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            if (!ended && failure == null) {
+                failure = new IllegalStateException("Audit event delivery thread has stopped");
+            }
+            queue.clear();
+        }
+    }
+
+    /**
+     * Delivers a notification to all listeners, recording their failure.
+     * @param notification the notification to deliver
+     */
+    private void deliver(Notification notification) {
+        try {
+            for (final AuditListener listener : listeners) {
+                notification.type.deliver(listener, notification.event,
+                        notification.throwable);
+            }
+        }
+        catch (final RuntimeException ex) {
+            failure = ex;
+        }
+    }
+
+    /** The kinds of audit events. */
+    private enum EventType {
+        /** Start of the audit. */
+        AUDIT_STARTED {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                listener.auditStarted(event);
+            }
+        },
+        /** End of the audit. */
+        AUDIT_FINISHED {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                listener.auditFinished(event);
+            }
+        },
+        /** Start of the audit of a file. */
+        FILE_STARTED {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                listener.fileStarted(event);
+            }
+        },
+        /** End of the audit of a file. */
+        FILE_FINISHED {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                listener.fileFinished(event);
+            }
+        },
+        /** An error found in a file. */
+        ERROR {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                listener.addError(event);
+            }
+        },
+        /** An exception raised while auditing a file. */
+        EXCEPTION {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                listener.addException(event, throwable);
+            }
+        },
+        /** Marks the end of the events, stops the delivery thread. */
+        END {
+            @Override
+            void deliver(AuditListener listener, AuditEvent event, Throwable throwable) {
+                // nothing to deliver
+            }
+        };
+
+        /**
+         * Notifies a listener about an event of this type.
+         * @param listener the listener to notify
+         * @param event the event
+         * @param throwable the exception of the event, if any
+         */
+        abstract void deliver(AuditListener listener, AuditEvent event, Throwable throwable);
+    }
+
+    /** An event waiting to be delivered. */
+    private static final class Notification {
+        /** The type of the event. */
+        private final EventType type;
+
+        /** The event. */
+        private final AuditEvent event;
+
+        /** The exception of the event, if any. */
+        private final Throwable throwable;
+
+        /**
+         * Creates a new notification.
+         * @param type the type of the event
+         * @param event the event
+         * @param throwable the exception of the event, if any
+         */
+        Notification(EventType type, AuditEvent event, Throwable throwable) {
+            this.type = type;
+            this.event = event;
+            this.throwable = throwable;
+        }
+    }
+}
@@ -25,15 +25,26 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
@@ -67,9 +78,33 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Vector of listeners. */
     private final List<AuditListener> listeners = Lists.newArrayList();
 
+    /**
+     * The listeners notified on the auditing threads, either all listeners
+     * or the error counter and the asynchronous dispatcher.
+     */
+    private List<AuditListener> notifiedListeners = listeners;
+
+    /** Delivers audit events to listeners on a dedicated thread, null if disabled. */
+    private AsyncAuditListener asyncListener;
+
+    /** Number of audit events that may be queued for asynchronous delivery. */
+    private int auditEventQueueSize;
+
     /** Vector of fileset checks. */
     private final List<FileSetCheck> fileSetChecks = Lists.newArrayList();
 
+    /**
+     * Configurations of the fileset checks that hold no state between files
+     * and thus can be instantiated once per auditing thread.
+     */
+    private final Map<FileSetCheck, Configuration> replicableChecks = Maps.newHashMap();
+
+    /**
+     * Per-thread instances of the replicable fileset checks. They are
+     * created on the first concurrent audit and reused by the following ones.
+     */
+    private final List<List<FileSetCheck>> replicaSets = Lists.newArrayList();
+
     /** Class loader to resolve classes with. **/
     private ClassLoader classLoader = Thread.currentThread()
             .getContextClassLoader();
@@ -112,6 +147,12 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Name of a charset. */
     private String charset = System.getProperty("file.encoding", "UTF-8");
 
+    /** Number of threads used to audit files. */
+    private int threadCount = 1;
+
+    /** Cache of the results of previous audits. */
+    private PropertyCacheFile cache;
+
     /**
      * Creates a new {@code Checker} instance.
      * The instance needs to be contextualized and configured.
@@ -171,6 +212,9 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
             final FileSetCheck fsc = (FileSetCheck) child;
             fsc.init();
             addFileSetCheck(fsc);
+            if (fsc instanceof TreeWalker) {
+                replicableChecks.put(fsc, childConf);
+            }
         }
         else if (child instanceof Filter) {
             final Filter filter = (Filter) child;
@@ -214,8 +258,18 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
 
     /** Cleans up the object. **/
     public void destroy() {
+        stopAsyncListener();
         listeners.clear();
         filters.clear();
+        replicaSets.clear();
+        if (cache != null) {
+            try {
+                cache.persist();
+            }
+            catch (IOException e) {
+                throw new IllegalStateException("Unable to persist cache file", e);
+            }
+        }
     }
 
     /**
@@ -244,36 +298,46 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
      * @see #destroy()
      */
     public int process(List<File> files) throws CheckstyleException {
+        return process((Iterable<File>) files);
+    }
+
+    /**
+     * Processes a set of files with all FileSetChecks. The files are
+     * audited while they are being iterated, so they may be produced
+     * lazily, e.g. while a directory tree is being traversed.
+     * Once this is done, it is highly recommended to call for
+     * the destroy method to close and remove the listeners.
+     * @param files the files to be audited.
+     * @return the total number of errors found
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     * @see #destroy()
+     */
+    public int process(Iterable<File> files) throws CheckstyleException {
         // Prepare to start
+        if (auditEventQueueSize > 0) {
+            startAsyncListener();
+        }
         fireAuditStarted();
         for (final FileSetCheck fsc : fileSetChecks) {
             fsc.beginProcessing(charset);
         }
 
         // Process each file
-        for (final File file : files) {
-            if (!CommonUtils.matchesFileExtension(file, fileExtensions)) {
-                continue;
-            }
-            final String fileName = file.getAbsolutePath();
-            fireFileStarted(fileName);
-            final SortedSet<LocalizedMessage> fileMessages = Sets.newTreeSet();
-            try {
-                final FileText theText = new FileText(file.getAbsoluteFile(),
-                        charset);
-                for (final FileSetCheck fsc : fileSetChecks) {
-                    fileMessages.addAll(fsc.process(file, theText));
+        if (threadCount > 1) {
+            processFilesConcurrently(files);
+        }
+        else {
+            shareParseCache(fileSetChecks);
+            for (final File file : files) {
+                if (!CommonUtils.matchesFileExtension(file, fileExtensions)) {
+                    continue;
                 }
+                final String fileName = file.getAbsolutePath();
+                fireFileStarted(fileName);
+                final SortedSet<LocalizedMessage> fileMessages = processFile(file);
+                fireErrors(fileName, fileMessages);
+                fireFileFinished(fileName);
             }
-            catch (final IOException ioe) {
-                LOG.debug("IOException occurred.", ioe);
-                fileMessages.add(new LocalizedMessage(0,
-                        Definitions.CHECKSTYLE_BUNDLE, "general.exception",
-                        new String[] {ioe.getMessage()}, null, getClass(),
-                        null));
-            }
-            fireErrors(fileName, fileMessages);
-            fireFileFinished(fileName);
         }
 
         // Finish up
@@ -289,9 +353,327 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
 
         final int errorCount = counter.getCount();
         fireAuditFinished();
+        stopAsyncListener();
         return errorCount;
     }
 
+    /**
+     * Routes audit events for all listeners but the error counter through
+     * a dispatcher that delivers them on a dedicated thread.
+     */
+    private void startAsyncListener() {
+        stopAsyncListener();
+        final List<AuditListener> delegates = Lists.newArrayList(listeners);
+        delegates.remove(counter);
+        asyncListener = new AsyncAuditListener(delegates, auditEventQueueSize);
+        notifiedListeners = ImmutableList.of(counter, asyncListener);
+    }
+
+    /**
+     * Waits for the delivery of the queued audit events and notifies the
+     * listeners on the auditing threads again.
+     */
+    private void stopAsyncListener() {
+        if (asyncListener != null) {
+            final AsyncAuditListener dispatcher = asyncListener;
+            asyncListener = null;
+            notifiedListeners = listeners;
+            dispatcher.close();
+        }
+    }
+
+    /**
+     * Audits one file with all FileSetChecks. If the cache holds the results
+     * for its current contents, only the checks that cannot be cached are run.
+     * @param file the file to audit
+     * @return the messages logged for the file
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    private SortedSet<LocalizedMessage> processFile(File file) throws CheckstyleException {
+        final SortedSet<LocalizedMessage> fileMessages = Sets.newTreeSet();
+        final SortedSet<LocalizedMessage> cacheableMessages = Sets.newTreeSet();
+        long lastModified = 0;
+        long length = 0;
+        SortedSet<LocalizedMessage> cachedMessages = null;
+        if (cache != null) {
+            lastModified = file.lastModified();
+            length = file.length();
+            cachedMessages = cache.get(file);
+        }
+        final boolean cached = cachedMessages != null;
+        if (cached) {
+            fileMessages.addAll(cachedMessages);
+        }
+        if (!cached || hasUncacheableChecks()) {
+            try {
+                final FileText theText = new FileText(file.getAbsoluteFile(),
+                        charset);
+                runChecks(fileSetChecks, cached, file, theText, fileMessages,
+                        cacheableMessages);
+                if (cache != null && !cached) {
+                    cache.put(file, lastModified, length, theText, cacheableMessages);
+                }
+            }
+            catch (final IOException ioe) {
+                fileMessages.add(createIoExceptionMessage(ioe));
+            }
+        }
+        return fileMessages;
+    }
+
+    /**
+     * Runs fileset checks on a file.
+     * @param checks the fileset checks
+     * @param cached whether the file's messages come from the cache, in which
+     *     case only the checks that cannot be cached are run
+     * @param file the file to audit
+     * @param theText the contents of the file
+     * @param fileMessages collects the messages of the checks
+     * @param cacheableMessages collects the messages of the checks that can
+     *     be cached, to record in the cache
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    private static void runChecks(List<FileSetCheck> checks, boolean cached, File file,
+            FileText theText, SortedSet<LocalizedMessage> fileMessages,
+            SortedSet<LocalizedMessage> cacheableMessages) throws CheckstyleException {
+        for (final FileSetCheck fsc : checks) {
+            final boolean cacheable = isCacheable(fsc);
+            if (!cached || !cacheable) {
+                final SortedSet<LocalizedMessage> messages = fsc.process(file, theText);
+                fileMessages.addAll(messages);
+                if (cacheable) {
+                    cacheableMessages.addAll(messages);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether the messages of a fileset check may be cached. Only
+     * checks that declare it through {@link AbstractFileSetCheck#isCacheable()}
+     * are, as the results of other checks may depend on other files.
+     * @param fsc the fileset check
+     * @return true if the messages of the check may be cached
+     */
+    private static boolean isCacheable(FileSetCheck fsc) {
+        return fsc instanceof AbstractFileSetCheck
+                && ((AbstractFileSetCheck) fsc).isCacheable();
+    }
+
+    /**
+     * Tells whether some fileset checks must be run on files whose messages
+     * come from the cache.
+     * @return true if a fileset check cannot be cached
+     */
+    private boolean hasUncacheableChecks() {
+        boolean result = false;
+        for (final FileSetCheck fsc : fileSetChecks) {
+            if (!isCacheable(fsc)) {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Audits files on {@link #threadCount} threads. TreeWalker modules are
+     * instantiated once per thread, so the parsing and walking of files run
+     * concurrently. The remaining fileset checks, the filters and the
+     * listeners are invoked for one file at a time and in the order of
+     * {@code files}, on the thread that audited the file. Thread-local state
+     * such as the one of {@code FileContentsHolder} is therefore still
+     * available to the filters.
+     * @param files the files to be audited.
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    private void processFilesConcurrently(Iterable<File> files) throws CheckstyleException {
+        final List<FileSetCheck> serialChecks = Lists.newArrayList();
+        final List<FileSetCheck> primaryChecks = Lists.newArrayList();
+        for (final FileSetCheck fsc : fileSetChecks) {
+            if (replicableChecks.containsKey(fsc)) {
+                primaryChecks.add(fsc);
+            }
+            else {
+                serialChecks.add(fsc);
+            }
+        }
+
+        // walkers used by different threads must not share parse results
+        shareParseCache(primaryChecks);
+        shareParseCache(serialChecks);
+
+        final BlockingQueue<List<FileSetCheck>> workerChecks =
+                new ArrayBlockingQueue<>(threadCount);
+        final List<FileSetCheck> replicas = Lists.newArrayList();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final DeliveryOrder deliveryOrder = new DeliveryOrder();
+        try {
+            workerChecks.add(primaryChecks);
+            while (replicaSets.size() < threadCount - 1) {
+                replicaSets.add(createReplicas(primaryChecks));
+            }
+            for (final List<FileSetCheck> workerReplicas
+                    : replicaSets.subList(0, threadCount - 1)) {
+                for (final FileSetCheck replica : workerReplicas) {
+                    replica.beginProcessing(charset);
+                    replicas.add(replica);
+                }
+                workerChecks.add(workerReplicas);
+            }
+
+            final List<Future<Void>> results = Lists.newArrayList();
+            for (final File file : files) {
+                if (CommonUtils.matchesFileExtension(file, fileExtensions)) {
+                    results.add(executor.submit(new FileAuditTask(file, results.size(),
+                            workerChecks, serialChecks, deliveryOrder)));
+                }
+            }
+            for (final Future<Void> result : results) {
+                waitForCompletion(result);
+            }
+        }
+        finally {
+            deliveryOrder.abort();
+            executor.shutdownNow();
+            for (final FileSetCheck replica : replicas) {
+                replica.finishProcessing();
+                replica.destroy();
+            }
+        }
+    }
+
+    /**
+     * Creates the instances of the replicable fileset checks for one more
+     * auditing thread. Like the fileset checks they replicate, they are
+     * configured once and then go through
+     * {@link FileSetCheck#beginProcessing(String) beginProcessing},
+     * {@link FileSetCheck#finishProcessing() finishProcessing} and
+     * {@link FileSetCheck#destroy() destroy} on each call of
+     * {@link #process(Iterable)}.
+     * @param primaryChecks the replicable fileset checks
+     * @return the replicas, in the order of {@code primaryChecks}
+     * @throws CheckstyleException if a replica cannot be configured
+     */
+    private List<FileSetCheck> createReplicas(List<FileSetCheck> primaryChecks)
+            throws CheckstyleException {
+        final List<FileSetCheck> workerReplicas = Lists.newArrayList();
+        for (final FileSetCheck fsc : primaryChecks) {
+            workerReplicas.add(createReplica(fsc));
+        }
+        shareParseCache(workerReplicas);
+        return workerReplicas;
+    }
+
+    /**
+     * Makes the TreeWalker modules among fileset checks auditing the same
+     * files share the parse results, so that each file is parsed once. A
+     * single walker parses on its own, as it may add comment nodes to the
+     * tree it walks. As the cache is not thread safe, the checks must all
+     * be run by one thread at a time.
+     * @param checks the fileset checks auditing the same files
+     */
+    private static void shareParseCache(List<FileSetCheck> checks) {
+        final List<TreeWalker> walkers = Lists.newArrayList();
+        for (final FileSetCheck fsc : checks) {
+            if (fsc instanceof TreeWalker) {
+                walkers.add((TreeWalker) fsc);
+            }
+        }
+        ParseCache parseCache = null;
+        if (walkers.size() > 1) {
+            parseCache = new ParseCache();
+        }
+        for (final TreeWalker walker : walkers) {
+            walker.setParseCache(parseCache);
+        }
+    }
+
+    /**
+     * Creates a new instance of a replicable fileset check, configured the
+     * same way as the given one.
+     * @param fsc the fileset check to replicate
+     * @return the new instance
+     * @throws CheckstyleException if the module cannot be created
+     */
+    private FileSetCheck createReplica(FileSetCheck fsc) throws CheckstyleException {
+        final Configuration config = replicableChecks.get(fsc);
+        final TreeWalker replica = (TreeWalker) moduleFactory.createModule(config.getName());
+        replica.contextualize(childContext);
+        replica.configure(createReplicaConfiguration(config));
+        replica.init();
+        replica.shareCache((TreeWalker) fsc);
+        replica.setMessageDispatcher(this);
+        return replica;
+    }
+
+    /**
+     * Copies the configuration of a replicable fileset check without its
+     * cache file. Only the original instance loads and persists the cache,
+     * the replicas record their results in it through
+     * {@link TreeWalker#shareCache(TreeWalker)}.
+     * @param config the configuration of the original instance
+     * @return the configuration of a replica
+     * @throws CheckstyleException if an attribute cannot be read
+     */
+    private static Configuration createReplicaConfiguration(Configuration config)
+            throws CheckstyleException {
+        final DefaultConfiguration result = new DefaultConfiguration(config.getName());
+        for (final String attributeName : config.getAttributeNames()) {
+            if (!"cacheFile".equals(attributeName)) {
+                result.addAttribute(attributeName, config.getAttribute(attributeName));
+            }
+        }
+        for (final Configuration child : config.getChildren()) {
+            result.addChild(child);
+        }
+        for (final Map.Entry<String, String> message : config.getMessages().entrySet()) {
+            result.addMessage(message.getKey(), message.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Waits for an audit task to complete and rethrows its failure.
+     * @param result the pending result of the task
+     * @throws CheckstyleException if the task failed
+     */
+    private static void waitForCompletion(Future<Void> result) throws CheckstyleException {
+        try {
+            result.get();
+        }
+        catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Interrupted while waiting for file audit", ex);
+        }
+        catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof CheckstyleException) {
+                throw (CheckstyleException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CheckstyleException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Creates the message reported for a file that could not be read.
+     * @param ioe the exception thrown while reading the file
+     * @return the message to report
+     */
+    private LocalizedMessage createIoExceptionMessage(IOException ioe) {
+        LOG.debug("IOException occurred.", ioe);
+        return new LocalizedMessage(0,
+                Definitions.CHECKSTYLE_BUNDLE, "general.exception",
+                new String[] {ioe.getMessage()}, null, getClass(),
+                null);
+    }
+
     /**
      * Sets base directory.
      * @param basedir the base directory to strip off in file names
@@ -303,7 +685,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Notify all listeners about the audit start. */
     void fireAuditStarted() {
         final AuditEvent event = new AuditEvent(this);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.auditStarted(event);
         }
     }
@@ -311,7 +693,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Notify all listeners about the audit end. */
     void fireAuditFinished() {
         final AuditEvent event = new AuditEvent(this);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.auditFinished(event);
         }
     }
@@ -326,7 +708,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void fireFileStarted(String fileName) {
         final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
         final AuditEvent event = new AuditEvent(this, stripped);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.fileStarted(event);
         }
     }
@@ -341,7 +723,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void fireFileFinished(String fileName) {
         final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
         final AuditEvent event = new AuditEvent(this, stripped);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.fileFinished(event);
         }
     }
@@ -358,7 +740,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         for (final LocalizedMessage element : errors) {
             final AuditEvent event = new AuditEvent(this, stripped, element);
             if (filters.accept(event)) {
-                for (final AuditListener listener : listeners) {
+                for (final AuditListener listener : notifiedListeners) {
                     listener.addError(event);
                 }
             }
@@ -389,6 +771,18 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         }
     }
 
+    /**
+     * Returns the file extensions that identify the files to audit.
+     * @return the file extensions, all files are audited if null or empty
+     */
+    String[] getFileExtensions() {
+        String[] result = null;
+        if (fileExtensions != null) {
+            result = fileExtensions.clone();
+        }
+        return result;
+    }
+
     /**
      * Sets the factory for creating submodules.
      *
@@ -460,6 +854,43 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         this.moduleClassLoader = moduleClassLoader;
     }
 
+    /**
+     * Sets the number of threads used to audit files. Values greater than one
+     * make TreeWalker modules audit files concurrently, while listeners still
+     * receive the events of each file in the order the files were given.
+     * @param threadCount the number of threads, 1 by default
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Sets the number of audit events that may be queued for delivery to
+     * the listeners on a dedicated thread, so that slow listeners do not
+     * hold up the audit. The auditing threads wait while the queue is full.
+     * Events are delivered synchronously if the size is 0, the default.
+     * @param auditEventQueueSize the size of the queue of audit events
+     */
+    public void setAuditEventQueueSize(int auditEventQueueSize) {
+        this.auditEventQueueSize = auditEventQueueSize;
+    }
+
+    /**
+     * Sets the file used to keep the results of the audit between runs.
+     * The violations recorded for files whose contents did not change since
+     * they were last audited with the same configuration are reported
+     * instead of running the fileset checks again. Fileset checks whose
+     * results cannot be cached, see {@link AbstractFileSetCheck#isCacheable()},
+     * still process every file.
+     * @param fileName the cache file
+     * @throws IOException if there are some problems with file loading
+     */
+    public void setCacheFile(String fileName) throws IOException {
+        final Configuration configuration = getConfiguration();
+        cache = new PropertyCacheFile(configuration, fileName);
+        cache.load();
+    }
+
     /**
      * Sets a named charset.
      * @param charset the name of a charset
@@ -473,4 +904,160 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         }
         this.charset = charset;
     }
+
+    /**
+     * Hands over the delivery of audit events from one file to the next one,
+     * so that files audited concurrently are reported in their original order.
+     */
+    private static final class DeliveryOrder {
+        /** Index of the file whose events are to be delivered next. */
+        private int next;
+
+        /** Whether the delivery was abandoned because of a failure. */
+        private boolean aborted;
+
+        /**
+         * Waits until events of the file with the given index may be delivered.
+         * @param index the index of the file
+         * @return false if the delivery was abandoned
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        synchronized boolean awaitTurn(int index) throws InterruptedException {
+            while (!aborted && next != index) {
+                wait();
+            }
+            return !aborted;
+        }
+
+        /** Passes the delivery on to the next file. */
+        synchronized void advance() {
+            next++;
+            notifyAll();
+        }
+
+        /** Abandons the delivery of all pending files. */
+        synchronized void abort() {
+            aborted = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Audits one file with the TreeWalker modules of a worker, then runs the
+     * remaining fileset checks and notifies the listeners when it is the
+     * file's turn.
+     */
+    private final class FileAuditTask implements Callable<Void> {
+        /** The file to audit. */
+        private final File file;
+
+        /** Index of the file in the audited list. */
+        private final int index;
+
+        /** Pool of per-thread instances of replicable fileset checks. */
+        private final BlockingQueue<List<FileSetCheck>> workerChecks;
+
+        /** Fileset checks shared by all threads. */
+        private final List<FileSetCheck> serialChecks;
+
+        /** Order of delivery of audit events. */
+        private final DeliveryOrder deliveryOrder;
+
+        /**
+         * Creates a new task.
+         * @param file the file to audit
+         * @param index index of the file in the audited list
+         * @param workerChecks pool of per-thread instances of replicable checks
+         * @param serialChecks fileset checks shared by all threads
+         * @param deliveryOrder order of delivery of audit events
+         */
+        FileAuditTask(File file, int index, BlockingQueue<List<FileSetCheck>> workerChecks,
+                List<FileSetCheck> serialChecks, DeliveryOrder deliveryOrder) {
+            this.file = file;
+            this.index = index;
+            this.workerChecks = workerChecks;
+            this.serialChecks = serialChecks;
+            this.deliveryOrder = deliveryOrder;
+        }
+
+        @Override
+        public Void call() throws CheckstyleException, InterruptedException {
+            final SortedSet<LocalizedMessage> fileMessages = Sets.newTreeSet();
+            final SortedSet<LocalizedMessage> cacheableMessages = Sets.newTreeSet();
+            long lastModified = 0;
+            long length = 0;
+            SortedSet<LocalizedMessage> cachedMessages = null;
+            if (cache != null) {
+                lastModified = file.lastModified();
+                length = file.length();
+                cachedMessages = cache.get(file);
+            }
+            final boolean cached = cachedMessages != null;
+            if (cached) {
+                fileMessages.addAll(cachedMessages);
+            }
+            FileText theText = null;
+            if (!cached || hasUncacheableChecks()) {
+                try {
+                    theText = new FileText(file.getAbsoluteFile(), charset);
+                    final List<FileSetCheck> checks = workerChecks.take();
+                    try {
+                        runChecks(checks, cached, file, theText, fileMessages,
+                                cacheableMessages);
+                    }
+                    finally {
+                        workerChecks.put(checks);
+                    }
+                }
+                catch (final IOException ioe) {
+                    fileMessages.add(createIoExceptionMessage(ioe));
+                }
+                catch (final CheckstyleException | RuntimeException ex) {
+                    // let the following files be delivered before failing
+                    deliveryOrder.awaitTurn(index);
+                    deliveryOrder.abort();
+                    throw ex;
+                }
+            }
+
+            if (deliveryOrder.awaitTurn(index)) {
+                try {
+                    deliver(theText, cached, fileMessages, cacheableMessages);
+                }
+                catch (final CheckstyleException | RuntimeException ex) {
+                    deliveryOrder.abort();
+                    throw ex;
+                }
+                deliveryOrder.advance();
+                if (cache != null && !cached && theText != null) {
+                    cache.put(file, lastModified, length, theText, cacheableMessages);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Runs the fileset checks shared by all threads and notifies the
+         * listeners about the file.
+         * @param theText the contents of the file, null if it could not be read
+         *     or if it was not read as all its messages come from the cache
+         * @param cached whether the file's messages come from the cache
+         * @param fileMessages the messages logged by the replicable checks
+         * @param cacheableMessages the messages of the checks that can be cached
+         * @throws CheckstyleException if error condition within Checkstyle occurs
+         */
+        private void deliver(FileText theText, boolean cached,
+                SortedSet<LocalizedMessage> fileMessages,
+                SortedSet<LocalizedMessage> cacheableMessages)
+                throws CheckstyleException {
+            final String fileName = file.getAbsolutePath();
+            fireFileStarted(fileName);
+            if (theText != null) {
+                runChecks(serialChecks, cached, file, theText, fileMessages,
+                        cacheableMessages);
+            }
+            fireErrors(fileName, fileMessages);
+            fireFileFinished(fileName);
+        }
+    }
 }
@@ -0,0 +1,260 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.common.collect.Lists;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Discovers the files to audit below a set of paths on a background thread
+ * and hands them out as they are found, so that the auditing of the first
+ * files overlaps with the listing of the remaining ones. Directories are
+ * traversed recursively, unreadable files and directories are skipped.
+ *
+ * <p>A walker can be iterated only once.
+ * @author the original author or authors.
+ */
+final class FileWalker implements Iterable<File> {
+    /** Logger for FileWalker. */
+    private static final Log LOG = LogFactory.getLog(FileWalker.class);
+
+    /** Marks the end of the discovered files in the queue. */
+    private static final File END_OF_FILES = new File("");
+
+    /** Options of the traversal, symbolic links are followed as {@link File} does. */
+    private static final Set<FileVisitOption> WALK_OPTIONS =
+            EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+
+    /** The discovered files not taken by the consumer yet. */
+    private final BlockingQueue<File> queue = new LinkedBlockingQueue<>();
+
+    /** The paths to traverse. */
+    private final String[] paths;
+
+    /** The file extensions that are accepted, all files are accepted if empty. */
+    private final String[] fileExtensions;
+
+    /** Whether the traversal has been started. */
+    private boolean started;
+
+    /**
+     * Creates a walker over the given paths.
+     * @param fileExtensions the file extensions that are accepted
+     * @param paths the files and directories to traverse
+     */
+    FileWalker(String[] fileExtensions, String... paths) {
+        this.fileExtensions = fileExtensions;
+        this.paths = paths.clone();
+    }
+
+    /**
+     * Checks whether there is at least one file to process below the given
+     * paths. The traversal stops at the first file found.
+     * @param paths the files and directories to traverse
+     * @return true if a file was found
+     */
+    static boolean containsFiles(String... paths) {
+        final Queue<File> found = Lists.newLinkedList();
+        final DiscoveryVisitor visitor = new DiscoveryVisitor(found, null, true);
+        for (final String path : paths) {
+            walk(path, visitor);
+            if (!found.isEmpty()) {
+                break;
+            }
+        }
+        return !found.isEmpty();
+    }
+
+    /**
+     * Starts the traversal on a daemon thread. Does nothing if it has
+     * already been started.
+     */
+    synchronized void start() {
+        if (!started) {
+            started = true;
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        final DiscoveryVisitor visitor =
+                                new DiscoveryVisitor(queue, fileExtensions, false);
+                        for (final String path : paths) {
+                            walk(path, visitor);
+                        }
+                    }
+                    finally {
+                        queue.add(END_OF_FILES);
+                    }
+                }
+            }, "checkstyle-file-walker");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Returns the discovered files, starting the traversal if needed. The
+     * iterator blocks until the next file is found or the traversal ends.
+     * @return the iterator over the discovered files
+     */
+    @Override
+    public Iterator<File> iterator() {
+        start();
+        return new Iterator<File>() {
+            /** The next file, null if it has not been taken from the queue yet. */
+            private File next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = take();
+                    if (next == END_OF_FILES) {
+                        // leave the marker for other iterators
+                        queue.add(END_OF_FILES);
+                    }
+                }
+                return next != END_OF_FILES;
+            }
+
+            @Override
+            public File next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final File result = next;
+                next = null;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove");
+            }
+        };
+    }
+
+    /**
+     * Takes the next discovered file from the queue, waiting for it if needed.
+     * @return the next file or {@link #END_OF_FILES}
+     */
+    private File take() {
+        try {
+            return queue.take();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for files to process", ex);
+        }
+    }
+
+    /**
+     * Traverses a path with a visitor.
+     * @param path the file or directory to traverse
+     * @param visitor the visitor collecting the files
+     */
+    private static void walk(String path, DiscoveryVisitor visitor) {
+        try {
+            Files.walkFileTree(Paths.get(path), WALK_OPTIONS, Integer.MAX_VALUE, visitor);
+        }
+        catch (IOException ex) {
+            LOG.debug("Unable to traverse " + path, ex);
+        }
+    }
+
+    /**
+     * Collects the readable regular files with accepted extensions.
+     * @author the original author or authors.
+     */
+    private static final class DiscoveryVisitor extends SimpleFileVisitor<Path> {
+        /** Receives the found files. */
+        private final Queue<File> files;
+
+        /** The file extensions that are accepted, null to accept all files. */
+        private final String[] fileExtensions;
+
+        /** Whether the traversal terminates at the first file found. */
+        private final boolean firstOnly;
+
+        /**
+         * Creates a visitor.
+         * @param files receives the found files
+         * @param fileExtensions the file extensions that are accepted
+         * @param firstOnly whether to terminate at the first file found
+         */
+        DiscoveryVisitor(Queue<File> files, String[] fileExtensions, boolean firstOnly) {
+            this.files = files;
+            this.fileExtensions = fileExtensions;
+            this.firstOnly = firstOnly;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            final FileVisitResult result;
+            if (Files.isReadable(dir)) {
+                result = FileVisitResult.CONTINUE;
+            }
+            else {
+                result = FileVisitResult.SKIP_SUBTREE;
+            }
+            return result;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+            FileVisitResult result = FileVisitResult.CONTINUE;
+            if (attrs.isRegularFile() && Files.isReadable(path)) {
+                final File file = path.toFile();
+                if (CommonUtils.matchesFileExtension(file, fileExtensions)) {
+                    files.add(file);
+                    if (firstOnly) {
+                        result = FileVisitResult.TERMINATE;
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path path, IOException exc) {
+            // unreadable entries and loops of links are skipped
+            return FileVisitResult.CONTINUE;
+        }
+    }
+}
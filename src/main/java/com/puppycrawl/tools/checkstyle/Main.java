@@ -36,7 +36,6 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
-import com.google.common.collect.Lists;
 import com.google.common.io.Closeables;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
@@ -67,6 +66,9 @@ public final class Main {
     /** Name for the option 'o'. */
     private static final String OPTION_O_NAME = "o";
 
+    /** Name for the option 't'. */
+    private static final String OPTION_T_NAME = "t";
+
     /** Name for 'xml' format. */
     private static final String XML_FORMAT_NAME = "xml";
 
@@ -203,8 +205,14 @@ public final class Main {
                     result.add(String.format("Permission denied : '%s'.", outputLocation));
                 }
             }
-            final List<File> files = getFilesToProcess(cmdLine.getArgs());
-            if (files.isEmpty()) {
+            if (cmdLine.hasOption(OPTION_T_NAME)) {
+                final String threadCount = cmdLine.getOptionValue(OPTION_T_NAME);
+                if (!isPositiveInteger(threadCount)) {
+                    result.add(String.format("Invalid number of threads."
+                            + " Found '%s' but expected a positive integer.", threadCount));
+                }
+            }
+            if (!FileWalker.containsFiles(cmdLine.getArgs())) {
                 result.add("Must specify files to process, found 0.");
             }
         }
@@ -215,6 +223,22 @@ public final class Main {
         return result;
     }
 
+    /**
+     * Checks whether a string denotes a positive integer.
+     * @param value the string to check
+     * @return true if {@code value} is a positive integer
+     */
+    private static boolean isPositiveInteger(String value) {
+        boolean result;
+        try {
+            result = Integer.parseInt(value) > 0;
+        }
+        catch (NumberFormatException ignored) {
+            result = false;
+        }
+        return result;
+    }
+
     /**
      * Util method to convert CommandLine type to POJO object.
      * @param cmdLine command line object
@@ -229,7 +253,10 @@ public final class Main {
         conf.outputLocation = cmdLine.getOptionValue(OPTION_O_NAME);
         conf.configLocation = cmdLine.getOptionValue(OPTION_C_NAME);
         conf.propertiesLocation = cmdLine.getOptionValue(OPTION_P_NAME);
-        conf.files = getFilesToProcess(cmdLine.getArgs());
+        if (cmdLine.hasOption(OPTION_T_NAME)) {
+            conf.threadCount = Integer.parseInt(cmdLine.getOptionValue(OPTION_T_NAME));
+        }
+        conf.files = cmdLine.getArgs();
         return conf;
     }
 
@@ -272,9 +299,14 @@ public final class Main {
             checker.setModuleClassLoader(moduleClassLoader);
             checker.configure(config);
             checker.addListener(listener);
+            if (cliOptions.threadCount != null) {
+                checker.setThreadCount(cliOptions.threadCount);
+            }
 
-            // run Checker
-            errorCounter = checker.process(cliOptions.files);
+            // run Checker on the files as they are discovered
+            final FileWalker files =
+                    new FileWalker(checker.getFileExtensions(), cliOptions.files);
+            errorCounter = checker.process(files);
 
         }
         finally {
@@ -358,50 +390,6 @@ public final class Main {
         return listener;
     }
 
-    /**
-     * Determines the files to process.
-     * @param filesToProcess
-     *        arguments that were not processed yet but shall be
-     * @return list of files to process
-     */
-    private static List<File> getFilesToProcess(String... filesToProcess) {
-        final List<File> files = Lists.newLinkedList();
-        for (String element : filesToProcess) {
-            files.addAll(listFiles(new File(element)));
-        }
-
-        return files;
-    }
-
-    /**
-     * Traverses a specified node looking for files to check. Found files are added to a specified
-     * list. Subdirectories are also traversed.
-     * @param node
-     *        the node to process
-     * @return found files
-     */
-    private static List<File> listFiles(File node) {
-        // could be replaced with org.apache.commons.io.FileUtils.list() method
-        // if only we add commons-io library
-        final List<File> result = Lists.newLinkedList();
-
-        if (node.canRead()) {
-            if (node.isDirectory()) {
-                final File[] files = node.listFiles();
-                // listFiles() can return null, so we need to check it
-                if (files != null) {
-                    for (File element : files) {
-                        result.addAll(listFiles(element));
-                    }
-                }
-            }
-            else if (node.isFile()) {
-                result.add(node);
-            }
-        }
-        return result;
-    }
-
     /** Prints the usage information. **/
     private static void printUsage() {
         final HelpFormatter formatter = new HelpFormatter();
@@ -421,6 +409,8 @@ public final class Main {
         options.addOption(OPTION_F_NAME, true, String.format(
                 "Sets the output format. (%s|%s). Defaults to %s",
                 PLAIN_FORMAT_NAME, XML_FORMAT_NAME, PLAIN_FORMAT_NAME));
+        options.addOption(OPTION_T_NAME, true,
+                "Sets the number of auditing threads. Defaults to 1");
         options.addOption(OPTION_V_NAME, false, "Print product version and exit");
         return options;
     }
@@ -435,7 +425,9 @@ public final class Main {
         private String format;
         /** Output file location. */
         private String outputLocation;
-        /** List of file to validate. */
-        private List<File> files;
+        /** Number of threads, null if not specified. */
+        private Integer threadCount;
+        /** Files and directories to validate. */
+        private String[] files;
     }
 }
@@ -0,0 +1,169 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import antlr.RecognitionException;
+import antlr.TokenStreamException;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Holds the parse result of the file being audited, so that several
+ * {@link TreeWalker} modules auditing the same file lex and parse it once.
+ * The file is identified by the {@link FileText} instance handed to the
+ * walkers; parsing another one replaces the cached result.
+ *
+ * <p>The tree is shared by all walkers and therefore never modified. The
+ * tree with comment nodes is built on a copy of it, the first time a walker
+ * asks for it.
+ *
+ * <p>An instance is not thread safe, it is used by the walkers of a single
+ * thread.
+ * @author the original author or authors.
+ */
+final class ParseCache {
+    /** The text of the parsed file, null if nothing is cached. */
+    private FileText text;
+
+    /** The contents of the parsed file, holding its comments. */
+    private FileContents contents;
+
+    /** The root of the tree of the parsed file. */
+    private DetailAST rootAST;
+
+    /** The root of the tree with comment nodes, null until requested. */
+    private DetailAST rootASTWithComments;
+
+    /**
+     * Returns the contents of a file, parsing it if it is not cached.
+     * @param fileText the text of the file
+     * @return the contents of the file
+     * @throws RecognitionException if parsing failed
+     * @throws TokenStreamException if lexing failed
+     */
+    FileContents getContents(FileText fileText)
+        throws RecognitionException, TokenStreamException {
+        ensureParsed(fileText);
+        return contents;
+    }
+
+    /**
+     * Returns the tree of a file, parsing it if it is not cached.
+     * @param fileText the text of the file
+     * @return the root of the tree
+     * @throws RecognitionException if parsing failed
+     * @throws TokenStreamException if lexing failed
+     */
+    DetailAST getAST(FileText fileText)
+        throws RecognitionException, TokenStreamException {
+        ensureParsed(fileText);
+        return rootAST;
+    }
+
+    /**
+     * Returns the tree of a file with comment nodes, parsing the file if it
+     * is not cached.
+     * @param fileText the text of the file
+     * @return the root of the tree with comment nodes
+     * @throws RecognitionException if parsing failed
+     * @throws TokenStreamException if lexing failed
+     */
+    DetailAST getASTWithComments(FileText fileText)
+        throws RecognitionException, TokenStreamException {
+        ensureParsed(fileText);
+        if (rootASTWithComments == null) {
+            rootASTWithComments =
+                TreeWalker.appendHiddenCommentNodes(copyTree(rootAST));
+        }
+        return rootASTWithComments;
+    }
+
+    /** Releases the cached parse result. */
+    void clear() {
+        text = null;
+        contents = null;
+        rootAST = null;
+        rootASTWithComments = null;
+    }
+
+    /**
+     * Parses a file unless it is the cached one.
+     * @param fileText the text of the file
+     * @throws RecognitionException if parsing failed
+     * @throws TokenStreamException if lexing failed
+     */
+    private void ensureParsed(FileText fileText)
+        throws RecognitionException, TokenStreamException {
+        if (text != fileText) {
+            clear();
+            final FileContents fileContents = new FileContents(fileText);
+            rootAST = TreeWalker.parse(fileContents);
+            contents = fileContents;
+            text = fileText;
+        }
+    }
+
+    /**
+     * Copies a tree with its siblings. Uses an iterative algorithm, like
+     * the walk of the tree.
+     * @param root the root of the tree
+     * @return the root of the copy
+     */
+    private static DetailAST copyTree(DetailAST root) {
+        final DetailAST rootCopy = copyNode(root);
+        DetailAST curNode = root;
+        DetailAST curCopy = rootCopy;
+        while (curNode != null) {
+            DetailAST toVisit = curNode.getFirstChild();
+            if (toVisit != null) {
+                final DetailAST childCopy = copyNode(toVisit);
+                curCopy.setFirstChild(childCopy);
+                curCopy = childCopy;
+            }
+            while (curNode != null && toVisit == null) {
+                toVisit = curNode.getNextSibling();
+                if (toVisit == null) {
+                    curNode = curNode.getParent();
+                    curCopy = curCopy.getParent();
+                }
+                else {
+                    final DetailAST siblingCopy = copyNode(toVisit);
+                    curCopy.setNextSibling(siblingCopy);
+                    curCopy = siblingCopy;
+                }
+            }
+            curNode = toVisit;
+        }
+        return rootCopy;
+    }
+
+    /**
+     * Copies a node without its children and siblings.
+     * @param node the node to copy
+     * @return the copy
+     */
+    private static DetailAST copyNode(DetailAST node) {
+        final DetailAST copy = new DetailAST();
+        copy.initialize(node);
+        return copy;
+    }
+}
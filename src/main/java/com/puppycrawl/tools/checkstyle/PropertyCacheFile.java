@@ -19,29 +19,56 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Properties;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.io.Closeables;
 import com.google.common.io.Flushables;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 
 /**
  * This class maintains a persistent(on file-system) store of the files
- * that have checked ok(no validation events) and their associated
- * timestamp. It is used to optimize Checkstyle between few launches.
+ * that have been checked, a digest of their contents and the violations
+ * found in them. It is used to optimize Checkstyle between few launches,
+ * a file whose contents did not change since it was last checked is not
+ * checked again and its violations are reported from the cache instead.
+ * Keying on contents rather than on timestamps keeps the cache valid in
+ * fresh checkouts, the timestamp and the size of a file are only used to
+ * avoid reading files that were not touched.
  * It is mostly useful for plugin and extensions of Checkstyle.
- * It uses a property file
- * for storage.  A hashcode of the Configuration is stored in the
+ * Despite its name, the store is no longer a property file: the cache file
+ * is written through a single {@link ObjectOutputStream}, so the stream
+ * header and the class descriptors of the violations are written once per
+ * file. Property files of earlier releases are ignored and overwritten.
+ * A hashcode of the Configuration is stored in the
  * cache file to ensure the cache is invalidated when the
  * configuration has changed.
  *
@@ -50,12 +77,11 @@ import com.puppycrawl.tools.checkstyle.api.Configuration;
 final class PropertyCacheFile {
 
     /**
-     * The property key to use for storing the hashcode of the
-     * configuration. To avoid name clashes with the files that are
-     * checked the key is chosen in such a way that it cannot be a
-     * valid file name.
+     * The value following the stream header of a cache file that identifies
+     * its format. Files in any other format, such as the property files of
+     * earlier releases, are ignored and overwritten.
      */
-    private static final String CONFIG_HASH_KEY = "configuration*?";
+    private static final int FORMAT_MARKER = 0x43534302;
 
     /** Hex digits. */
     private static final char[] HEX_CHARS = {
@@ -69,8 +95,14 @@ final class PropertyCacheFile {
     /** Bit shift. */
     private static final int SHIFT_4 = 4;
 
-    /** The details on files. **/
-    private final Properties details = new Properties();
+    /** Size of the buffer used to calculate digests of files. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** An entry whose violations cannot be restored. */
+    private static final Entry UNRESTORABLE_ENTRY = new Entry(0, 0, null, null);
+
+    /** The details on files, mapped by absolute file name. **/
+    private final Map<String, Entry> details = Maps.newConcurrentMap();
 
     /** Configuration object. **/
     private final Configuration config;
@@ -100,29 +132,33 @@ final class PropertyCacheFile {
      * @throws IOException when there is a problems with file read
      */
     void load() throws IOException {
-        // get the current config so if the file isn't found
-        // the first time the hash will be added to output file
         final String currentConfigHash = getConfigHashCode(config);
         if (new File(fileName).exists()) {
-            FileInputStream inStream = null;
+            ObjectInputStream inStream = null;
             try {
-                inStream = new FileInputStream(fileName);
-                details.load(inStream);
-                final String cachedConfigHash = details.getProperty(CONFIG_HASH_KEY);
-                if (!currentConfigHash.equals(cachedConfigHash)) {
-                    // Detected configuration change - clear cache
-                    details.clear();
-                    details.setProperty(CONFIG_HASH_KEY, currentConfigHash);
+                inStream = new ObjectInputStream(new BufferedInputStream(
+                        new FileInputStream(fileName)));
+                if (inStream.readInt() == FORMAT_MARKER
+                        && currentConfigHash.equals(inStream.readUTF())) {
+                    final int entryCount = inStream.readInt();
+                    for (int i = 0; i < entryCount; i++) {
+                        final String name = inStream.readUTF();
+                        final Entry entry = Entry.read(inStream);
+                        if (entry != UNRESTORABLE_ENTRY) {
+                            details.put(name, entry);
+                        }
+                    }
                 }
             }
+            catch (final EOFException | UTFDataFormatException
+                    | ObjectStreamException ignored) {
+                // truncated, corrupted or foreign file, start with an empty cache
+                details.clear();
+            }
             finally {
                 Closeables.closeQuietly(inStream);
             }
         }
-        else {
-            // put the hash in the file if the file is going to be created
-            details.setProperty(CONFIG_HASH_KEY, currentConfigHash);
-        }
     }
 
     /**
@@ -130,14 +166,47 @@ final class PropertyCacheFile {
      * @throws IOException  when there is a problems with file save
      */
     void persist() throws IOException {
-        FileOutputStream out = null;
+        String unserializableFile = writeEntries();
+        while (unserializableFile != null) {
+            // the violations of the file are not cached, it is checked again
+            details.remove(unserializableFile);
+            unserializableFile = writeEntries();
+        }
+    }
+
+    /**
+     * Writes all entries to the cache file. The writing stops at the first
+     * entry whose violations hold an argument that cannot be serialized.
+     * @return the name of the file of that entry, or null if all entries
+     *     were written
+     * @throws IOException  when there is a problems with file save
+     */
+    private String writeEntries() throws IOException {
+        String unserializableFile = null;
+        ObjectOutputStream out = null;
         try {
-            out = new FileOutputStream(fileName);
-            details.store(out, null);
+            out = new ObjectOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(fileName)));
+            final List<Map.Entry<String, Entry>> entries =
+                    Lists.newArrayList(details.entrySet());
+            out.writeInt(FORMAT_MARKER);
+            out.writeUTF(getConfigHashCode(config));
+            out.writeInt(entries.size());
+            for (final Map.Entry<String, Entry> entry : entries) {
+                out.writeUTF(entry.getKey());
+                try {
+                    entry.getValue().write(out);
+                }
+                catch (final NotSerializableException ignored) {
+                    unserializableFile = entry.getKey();
+                    break;
+                }
+            }
         }
         finally {
             flushAndCloseOutStream(out);
         }
+        return unserializableFile;
     }
 
     /**
@@ -153,24 +222,106 @@ final class PropertyCacheFile {
     }
 
     /**
-     * Checks that file is in cache.
-     * @param uncheckedFileName the file to check
-     * @param timestamp the timestamp of the file to check
-     * @return whether the specified file has already been checked ok
+     * Gets the violations found when the file was last checked, provided
+     * that its contents did not change since. The contents of the file are
+     * only read when its timestamp or its size changed.
+     * @param uncheckedFile the file to check
+     * @return the violations of the file, or null if the file with its
+     *     current contents is not in the cache
+     */
+    SortedSet<LocalizedMessage> get(File uncheckedFile) {
+        SortedSet<LocalizedMessage> result = null;
+        final String name = uncheckedFile.getAbsolutePath();
+        final Entry entry = details.get(name);
+        if (entry != null) {
+            final long lastModified = uncheckedFile.lastModified();
+            final long length = uncheckedFile.length();
+            if (entry.lastModified == lastModified && entry.length == length) {
+                result = Sets.newTreeSet(entry.messages);
+            }
+            else {
+                final byte[] contentsDigest = getContentsDigest(uncheckedFile);
+                if (Arrays.equals(entry.contentsDigest, contentsDigest)) {
+                    details.put(name, new Entry(lastModified, length,
+                            contentsDigest, entry.messages));
+                    result = Sets.newTreeSet(entry.messages);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records the violations found in a file. The timestamp and the size of
+     * the file are to be taken before its contents are read, so that a file
+     * changed during the audit is not mistaken for the checked one later.
+     * @param checkedFile the file that was checked
+     * @param lastModified the timestamp of the file
+     * @param length the size of the file
+     * @param checkedText the contents of the file that were checked
+     * @param messages the violations found in the file
      */
-    boolean isInCache(String uncheckedFileName, long timestamp) {
-        final String lastChecked = details.getProperty(uncheckedFileName);
-        return lastChecked != null
-            && lastChecked.equals(Long.toString(timestamp));
+    void put(File checkedFile, long lastModified, long length, FileText checkedText,
+            SortedSet<LocalizedMessage> messages) {
+        final String name = checkedFile.getAbsolutePath();
+        final byte[] contentsDigest = getContentsDigest(checkedText);
+        if (contentsDigest == null) {
+            details.remove(name);
+        }
+        else {
+            details.put(name, new Entry(lastModified, length,
+                    contentsDigest, Lists.newArrayList(messages)));
+        }
+    }
+
+    /**
+     * Calculates the digest of the contents of a file.
+     * @param file the file
+     * @return the digest of the file, or null if the file cannot be read
+     */
+    private static byte[] getContentsDigest(File file) {
+        byte[] result;
+        InputStream inStream = null;
+        try {
+            inStream = new FileInputStream(file);
+            final MessageDigest digest = createDigest();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int count = inStream.read(buffer);
+            while (count != -1) {
+                digest.update(buffer, 0, count);
+                count = inStream.read(buffer);
+            }
+            result = digest.digest();
+        }
+        catch (final IOException ignored) {
+            // such file is reported when it is checked
+            result = null;
+        }
+        finally {
+            Closeables.closeQuietly(inStream);
+        }
+        return result;
     }
 
     /**
-     * Records that a file checked ok.
-     * @param checkedFileName name of the file that checked ok
-     * @param timestamp the timestamp of the file
+     * Calculates the digest of the checked contents of a file, without
+     * reading the file again. The text is encoded in the charset it was
+     * decoded from, which gives the bytes of the file unless they held
+     * malformed input. The digest of such a file does not match the one
+     * of its bytes, so it is checked again next time.
+     * @param text the contents of the file
+     * @return the digest of the contents, or null if the text was not read
+     *     from a file
      */
-    void put(String checkedFileName, long timestamp) {
-        details.setProperty(checkedFileName, Long.toString(timestamp));
+    private static byte[] getContentsDigest(FileText text) {
+        byte[] result = null;
+        final Charset charset = text.getCharset();
+        if (charset != null) {
+            final MessageDigest digest = createDigest();
+            digest.update(charset.encode(CharBuffer.wrap(text.getFullText())));
+            result = digest.digest();
+        }
+        return result;
     }
 
     /**
@@ -208,6 +359,20 @@ final class PropertyCacheFile {
         }
     }
 
+    /**
+     * Creates the message digest used for file contents.
+     * @return SHA-1 message digest
+     */
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        }
+        catch (final NoSuchAlgorithmException ex) {
+            // rethrow as unchecked exception
+            throw new IllegalStateException("Unable to calculate digest.", ex);
+        }
+    }
+
     /**
      * Hex-encodes a byte array.
      * @param byteArray the byte array
@@ -223,4 +388,89 @@ final class PropertyCacheFile {
         }
         return buf.toString();
     }
+
+    /** The details on one file. */
+    private static final class Entry {
+        /** The timestamp of the file. */
+        private final long lastModified;
+
+        /** The size of the file. */
+        private final long length;
+
+        /** The digest of the contents of the file. */
+        private final byte[] contentsDigest;
+
+        /** The violations, empty if the file checked ok. */
+        private final List<LocalizedMessage> messages;
+
+        /**
+         * Creates a new entry.
+         * @param lastModified the timestamp of the file
+         * @param length the size of the file
+         * @param contentsDigest the digest of the contents of the file
+         * @param messages the violations
+         */
+        Entry(long lastModified, long length, byte[] contentsDigest,
+                List<LocalizedMessage> messages) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.contentsDigest = contentsDigest;
+            this.messages = messages;
+        }
+
+        /**
+         * Reads an entry written by {@link #write(ObjectOutputStream)}.
+         * @param inStream the stream to read from
+         * @return the entry, or {@link #UNRESTORABLE_ENTRY} if the class of
+         *     the source or of an argument of a violation is no longer
+         *     available, the file is checked again then
+         * @throws StreamCorruptedException if a violation is of another type
+         * @throws IOException if the entry cannot be read
+         */
+        static Entry read(ObjectInputStream inStream) throws IOException {
+            final long lastModified = inStream.readLong();
+            final long length = inStream.readLong();
+            final byte[] contentsDigest = new byte[inStream.readUnsignedByte()];
+            inStream.readFully(contentsDigest);
+            final int messageCount = inStream.readInt();
+            final List<LocalizedMessage> messages = Lists.newArrayList();
+            boolean restorable = true;
+            for (int i = 0; i < messageCount; i++) {
+                try {
+                    final Object message = inStream.readObject();
+                    if (!(message instanceof LocalizedMessage)) {
+                        throw new StreamCorruptedException("Invalid violation: " + message);
+                    }
+                    messages.add((LocalizedMessage) message);
+                }
+                catch (final ClassNotFoundException ignored) {
+                    // the violation was read entirely, the next ones still are
+                    restorable = false;
+                }
+            }
+            Entry result = UNRESTORABLE_ENTRY;
+            if (restorable) {
+                result = new Entry(lastModified, length, contentsDigest, messages);
+            }
+            return result;
+        }
+
+        /**
+         * Writes the entry.
+         * @param out the stream to write to
+         * @throws NotSerializableException if an argument of a violation
+         *     cannot be serialized
+         * @throws IOException if the entry cannot be written
+         */
+        void write(ObjectOutputStream out) throws IOException {
+            out.writeLong(lastModified);
+            out.writeLong(length);
+            out.writeByte(contentsDigest.length);
+            out.write(contentsDigest);
+            out.writeInt(messages.size());
+            for (final LocalizedMessage message : messages) {
+                out.writeObject(message);
+            }
+        }
+    }
 }
@@ -25,11 +25,11 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedSet;
 
 import antlr.CommonHiddenStreamToken;
 import antlr.RecognitionException;
@@ -38,8 +38,8 @@ import antlr.TokenStreamException;
 import antlr.TokenStreamHiddenTokenFilter;
 import antlr.TokenStreamRecognitionException;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import org.apache.commons.lang3.ArrayUtils;
+
 import com.google.common.collect.Sets;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.Check;
@@ -49,7 +49,10 @@ import com.puppycrawl.tools.checkstyle.api.Context;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
+import com.puppycrawl.tools.checkstyle.checks.SuppressWarningsHolder;
 import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaLexer;
 import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaRecognizer;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -82,19 +85,23 @@ public final class TreeWalker
     /** Default distance between tab stops. */
     private static final int DEFAULT_TAB_WIDTH = 8;
 
-    /** Maps from token name to ordinary checks. */
-    private final Multimap<String, Check> tokenToOrdinaryChecks =
-        HashMultimap.create();
+    /**
+     * Ordinary checks indexed by token type, in the order of registration.
+     * Element is null if no check is registered for the token type.
+     */
+    private Check[][] tokenToOrdinaryChecks = new Check[0][];
 
-    /** Maps from token name to comment checks. */
-    private final Multimap<String, Check> tokenToCommentChecks =
-            HashMultimap.create();
+    /**
+     * Comment checks indexed by token type, in the order of registration.
+     * Element is null if no check is registered for the token type.
+     */
+    private Check[][] tokenToCommentChecks = new Check[0][];
 
     /** Registered ordinary checks, that don't use comment nodes. */
-    private final Set<Check> ordinaryChecks = Sets.newHashSet();
+    private final Set<Check> ordinaryChecks = Sets.newLinkedHashSet();
 
     /** Registered comment checks. */
-    private final Set<Check> commentChecks = Sets.newHashSet();
+    private final Set<Check> commentChecks = Sets.newLinkedHashSet();
 
     /** The distance between tab stops. */
     private int tabWidth = DEFAULT_TAB_WIDTH;
@@ -102,6 +109,15 @@ public final class TreeWalker
     /** Cache file. **/
     private PropertyCacheFile cache;
 
+    /** Whether the cache belongs to another walker, which persists it. */
+    private boolean cacheShared;
+
+    /**
+     * Whether a check holds the state of the walked file for filters, like
+     * {@link FileContentsHolder} does for the suppression comment filters.
+     */
+    private boolean fileStateHeld;
+
     /** Class loader to resolve classes with. **/
     private ClassLoader classLoader;
 
@@ -111,6 +127,9 @@ public final class TreeWalker
     /** A factory for creating submodules (i.e. the Checks) */
     private ModuleFactory moduleFactory;
 
+    /** Parse results shared with other walkers, null if not shared. */
+    private ParseCache parseCache;
+
     /**
      * Creates a new {@code TreeWalker} instance.
      */
@@ -130,7 +149,13 @@ public final class TreeWalker
      * Sets cache file.
      * @param fileName the cache file
      * @throws IOException if there are some problems with file loading
+     * @deprecated set the {@code cacheFile} property of the {@code Checker}
+     *     module instead, see {@link Checker#setCacheFile(String)}. It caches
+     *     the results of all fileset checks and does not read unchanged
+     *     files again. The two properties must not name the same file, as
+     *     the files are written in different formats.
      */
+    @Deprecated
     public void setCacheFile(String fileName) throws IOException {
         final Configuration configuration = getConfiguration();
         cache = new PropertyCacheFile(configuration, fileName);
@@ -138,6 +163,25 @@ public final class TreeWalker
         cache.load();
     }
 
+    /**
+     * Makes this walker record results in the cache of another walker, so
+     * that instances auditing files on separate threads share one cache file.
+     * @param walker the walker owning the cache
+     */
+    void shareCache(TreeWalker walker) {
+        cache = walker.cache;
+        cacheShared = true;
+    }
+
+    /**
+     * Makes this walker take the parse results of files from a cache
+     * shared with the other walkers auditing the same files.
+     * @param parseCache the cache, null to parse every file
+     */
+    void setParseCache(ParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
     /**
      * @param classLoader class loader to resolve classes with.
      */
@@ -183,29 +227,63 @@ public final class TreeWalker
 
     @Override
     protected void processFiltered(File file, List<String> lines) throws CheckstyleException {
-        // check if already checked and passed the file
+        processFiltered(file, FileText.fromLines(file, lines));
+    }
+
+    @Override
+    protected void processFiltered(File file, FileText text) throws CheckstyleException {
+        // check if already checked and replay its violations, unless the
+        // filters need the state that checks hold for the walked file
         final String fileName = file.getPath();
-        final long timestamp = file.lastModified();
-        if (cache != null
-                && (cache.isInCache(fileName, timestamp)
-                    || !CommonUtils.matchesFileExtension(file, getFileExtensions()))) {
-            return;
+        final boolean cacheUsed = cache != null && isCacheable();
+        long lastModified = 0;
+        long length = 0;
+        if (cacheUsed) {
+            if (!CommonUtils.matchesFileExtension(file, getFileExtensions())) {
+                return;
+            }
+            lastModified = file.lastModified();
+            length = file.length();
+            final SortedSet<LocalizedMessage> cachedMessages = cache.get(file);
+            if (cachedMessages != null) {
+                for (final LocalizedMessage message : cachedMessages) {
+                    getMessageCollector().add(message);
+                }
+                return;
+            }
         }
 
         final String msg = "%s occurred during the analysis of file %s.";
 
         try {
-            final FileText text = FileText.fromLines(file, lines);
-            final FileContents contents = new FileContents(text);
-            final DetailAST rootAST = parse(contents);
+            final FileContents contents;
+            final DetailAST rootAST;
+            if (parseCache == null) {
+                contents = new FileContents(text);
+                rootAST = parse(contents);
+            }
+            else {
+                contents = parseCache.getContents(text);
+                rootAST = parseCache.getAST(text);
+            }
 
             getMessageCollector().reset();
 
             walk(rootAST, contents, AstState.ORDINARY);
 
-            final DetailAST astWithComments = appendHiddenCommentNodes(rootAST);
+            // comment nodes are only built for checks that need them
+            if (!commentChecks.isEmpty()) {
+                final DetailAST astWithComments;
+                if (parseCache == null) {
+                    astWithComments = appendHiddenCommentNodes(rootAST);
+                }
+                else {
+                    // the shared tree must stay free of comment nodes
+                    astWithComments = parseCache.getASTWithComments(text);
+                }
 
-            walk(astWithComments, contents, AstState.WITH_COMMENTS);
+                walk(astWithComments, contents, AstState.WITH_COMMENTS);
+            }
         }
         catch (final TokenStreamRecognitionException tre) {
             final String exceptionMsg = String.format(Locale.ROOT, msg,
@@ -218,11 +296,22 @@ public final class TreeWalker
             throw new CheckstyleException(exceptionMsg, ex);
         }
 
-        if (cache != null && getMessageCollector().size() == 0) {
-            cache.put(fileName, timestamp);
+        if (cacheUsed) {
+            cache.put(file, lastModified, length, text, getMessageCollector().getMessages());
         }
     }
 
+    /**
+     * The results of a file cannot be taken from a cache if a check holds
+     * the state of the walked file for filters, as a replay would leave the
+     * filters with the state of the previously walked file.
+     * @return true if no check holds the state of the walked file
+     */
+    @Override
+    public boolean isCacheable() {
+        return !fileStateHeld;
+    }
+
     /**
      * Register a check for a given configuration.
      * @param check the check to register
@@ -245,7 +334,7 @@ public final class TreeWalker
             for (String token : checkTokens) {
                 final int tokenId = TokenUtils.getTokenId(token);
                 if (Arrays.binarySearch(acceptableTokens, tokenId) >= 0) {
-                    registerCheck(token, check);
+                    registerCheck(tokenId, check);
                 }
                 else {
                     final String message = String.format(Locale.ROOT, "Token \"%s\" was "
@@ -264,6 +353,9 @@ public final class TreeWalker
         else {
             ordinaryChecks.add(check);
         }
+        if (check instanceof FileContentsHolder || check instanceof SuppressWarningsHolder) {
+            fileStateHeld = true;
+        }
     }
 
     /**
@@ -273,28 +365,41 @@ public final class TreeWalker
      * @throws CheckstyleException if Check is misconfigured
      */
     private void registerCheck(int tokenID, Check check) throws CheckstyleException {
-        registerCheck(TokenUtils.getTokenName(tokenID), check);
-    }
-
-    /**
-     * Register a check for a specified token name.
-     * @param token the name of the token
-     * @param check the check to register
-     * @throws CheckstyleException if Check is misconfigured
-     */
-    private void registerCheck(String token, Check check) throws CheckstyleException {
         if (check.isCommentNodesRequired()) {
-            tokenToCommentChecks.put(token, check);
+            tokenToCommentChecks = addCheck(tokenToCommentChecks, tokenID, check);
         }
-        else if (TokenUtils.isCommentType(token)) {
+        else if (TokenUtils.isCommentType(tokenID)) {
             final String message = String.format(Locale.ROOT, "Check '%s' waits for comment type "
                     + "token ('%s') and should override 'isCommentNodesRequired()' "
-                    + "method to return 'true'", check.getClass().getName(), token);
+                    + "method to return 'true'", check.getClass().getName(),
+                    TokenUtils.getTokenName(tokenID));
             throw new CheckstyleException(message);
         }
         else {
-            tokenToOrdinaryChecks.put(token, check);
+            tokenToOrdinaryChecks = addCheck(tokenToOrdinaryChecks, tokenID, check);
+        }
+    }
+
+    /**
+     * Adds a check to the checks of a token type, unless it is already there.
+     * @param table checks indexed by token type
+     * @param tokenID the id of the token
+     * @param check the check to add
+     * @return the table holding the check, grown if the token type was out of its bounds
+     */
+    private static Check[][] addCheck(Check[][] table, int tokenID, Check check) {
+        Check[][] result = table;
+        if (tokenID >= result.length) {
+            result = Arrays.copyOf(table, tokenID + 1);
         }
+        final Check[] checks = result[tokenID];
+        if (checks == null) {
+            result[tokenID] = new Check[] {check};
+        }
+        else if (!ArrayUtils.contains(checks, check)) {
+            result[tokenID] = ArrayUtils.add(checks, check);
+        }
+        return result;
     }
 
     /**
@@ -327,8 +432,10 @@ public final class TreeWalker
             AstState astState) {
         notifyBegin(ast, contents, astState);
 
-        // empty files are not flagged by javac, will yield ast == null
-        if (ast != null) {
+        // empty files are not flagged by javac, will yield ast == null;
+        // checks that subscribe to no tokens, like FileContentsHolder,
+        // only need to be notified about the begin and the end of the tree
+        if (ast != null && getTokenToChecks(astState).length > 0) {
             processIter(ast, astState);
         }
         notifyEnd(ast, astState);
@@ -383,7 +490,7 @@ public final class TreeWalker
      * @param astState state of AST.
      */
     private void notifyVisit(DetailAST ast, AstState astState) {
-        final Collection<Check> visitors = getListOfChecks(ast, astState);
+        final Check[] visitors = getListOfChecks(ast, astState);
 
         if (visitors != null) {
             for (Check check : visitors) {
@@ -399,7 +506,7 @@ public final class TreeWalker
      * @param astState state of AST.
      */
     private void notifyLeave(DetailAST ast, AstState astState) {
-        final Collection<Check> visitors = getListOfChecks(ast, astState);
+        final Check[] visitors = getListOfChecks(ast, astState);
 
         if (visitors != null) {
             for (Check check : visitors) {
@@ -415,23 +522,33 @@ public final class TreeWalker
      *            the node to notify for
      * @param astState
      *            state of AST.
-     * @return list of visitors
+     * @return list of visitors, null if there are none
      */
-    private Collection<Check> getListOfChecks(DetailAST ast, AstState astState) {
-        Collection<Check> visitors = null;
-        final String tokenType = TokenUtils.getTokenName(ast.getType());
+    private Check[] getListOfChecks(DetailAST ast, AstState astState) {
+        final Check[][] table = getTokenToChecks(astState);
+        Check[] visitors = null;
+        final int tokenType = ast.getType();
+        if (tokenType < table.length) {
+            visitors = table[tokenType];
+        }
+        return visitors;
+    }
 
+    /**
+     * Returns the checks registered for each token type.
+     * @param astState state of AST.
+     * @return checks indexed by token type, empty if no check
+     *     subscribes to a token
+     */
+    private Check[][] getTokenToChecks(AstState astState) {
+        final Check[][] table;
         if (astState == AstState.WITH_COMMENTS) {
-            if (tokenToCommentChecks.containsKey(tokenType)) {
-                visitors = tokenToCommentChecks.get(tokenType);
-            }
+            table = tokenToCommentChecks;
         }
         else {
-            if (tokenToOrdinaryChecks.containsKey(tokenType)) {
-                visitors = tokenToOrdinaryChecks.get(tokenType);
-            }
+            table = tokenToOrdinaryChecks;
         }
-        return visitors;
+        return table;
     }
 
     /**
@@ -470,6 +587,14 @@ public final class TreeWalker
         return (DetailAST) parser.getAST();
     }
 
+    @Override
+    public void finishProcessing() {
+        // the last parsed file is no longer needed
+        if (parseCache != null) {
+            parseCache.clear();
+        }
+    }
+
     @Override
     public void destroy() {
         for (Check check : ordinaryChecks) {
@@ -478,7 +603,7 @@ public final class TreeWalker
         for (Check check : commentChecks) {
             check.destroy();
         }
-        if (cache != null) {
+        if (cache != null && !cacheShared) {
             try {
                 cache.persist();
             }
@@ -519,7 +644,7 @@ public final class TreeWalker
      *        root of AST.
      * @return root of AST with comment nodes.
      */
-    private static DetailAST appendHiddenCommentNodes(DetailAST root) {
+    static DetailAST appendHiddenCommentNodes(DetailAST root) {
         DetailAST result = root;
         DetailAST curNode = root;
         DetailAST lastNode = root;
@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.io.BufferedWriter;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -49,6 +50,12 @@ public class XMLLogger
     /** Hex radix. */
     private static final int BASE_16 = 16;
 
+    /** Size of the buffer between the logger and the output stream. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    /** Initial size of the buffer of the elements. */
+    private static final int ELEMENT_BUFFER_SIZE = 1024;
+
     /** Some known entities to detect. */
     private static final String[] ENTITIES = {"gt", "amp", "lt", "apos",
                                               "quot", };
@@ -59,6 +66,15 @@ public class XMLLogger
     /** Helper writer that allows easy encoding and printing. */
     private PrintWriter writer;
 
+    /** Buffer reused to render the message of each error. */
+    private final StringBuffer messageBuffer = new StringBuffer();
+
+    /** Buffer reused to build each element, escaped values are encoded into it. */
+    private final StringBuilder elementBuffer = new StringBuilder(ELEMENT_BUFFER_SIZE);
+
+    /** Characters of {@link #elementBuffer} handed to the writer. */
+    private char[] elementChars = new char[ELEMENT_BUFFER_SIZE];
+
     /**
      * Creates a new {@code XMLLogger} instance.
      * Sets the output to a defined stream.
@@ -76,7 +92,7 @@ public class XMLLogger
      **/
     private void setOutputStream(OutputStream outputStream) {
         final OutputStreamWriter osw = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-        writer = new PrintWriter(osw);
+        writer = new PrintWriter(new BufferedWriter(osw, OUTPUT_BUFFER_SIZE));
     }
 
     @Override
@@ -104,7 +120,11 @@ public class XMLLogger
 
     @Override
     public void fileStarted(AuditEvent event) {
-        writer.println("<file name=\"" + encode(event.getFileName()) + "\">");
+        elementBuffer.setLength(0);
+        elementBuffer.append("<file name=\"");
+        appendEncoded(event.getFileName(), elementBuffer);
+        elementBuffer.append("\">");
+        writeElement();
     }
 
     @Override
@@ -115,22 +135,39 @@ public class XMLLogger
     @Override
     public void addError(AuditEvent event) {
         if (event.getSeverityLevel() != SeverityLevel.IGNORE) {
-            writer.print("<error" + " line=\"" + event.getLine() + "\"");
+            final StringBuilder sb = elementBuffer;
+            sb.setLength(0);
+            sb.append("<error line=\"").append(event.getLine()).append('"');
             if (event.getColumn() > 0) {
-                writer.print(" column=\"" + event.getColumn() + "\"");
+                sb.append(" column=\"").append(event.getColumn()).append('"');
             }
-            writer.print(" severity=\""
-                + event.getSeverityLevel().getName()
-                + "\"");
-            writer.print(" message=\""
-                + encode(event.getMessage())
-                + "\"");
-            writer.println(" source=\""
-                + encode(event.getSourceName())
-                + "\"/>");
+            sb.append(" severity=\"").append(event.getSeverityLevel().getName()).append('"');
+
+            messageBuffer.setLength(0);
+            event.getLocalizedMessage().appendMessage(messageBuffer);
+            sb.append(" message=\"");
+            appendEncoded(messageBuffer, sb);
+            sb.append("\" source=\"");
+            appendEncoded(event.getSourceName(), sb);
+            sb.append("\"/>");
+            writeElement();
         }
     }
 
+    /**
+     * Writes the content of {@link #elementBuffer} and a line separator
+     * without creating a string.
+     */
+    private void writeElement() {
+        final int length = elementBuffer.length();
+        if (elementChars.length < length) {
+            elementChars = new char[Math.max(length, elementChars.length * 2)];
+        }
+        elementBuffer.getChars(0, length, elementChars, 0);
+        writer.write(elementChars, 0, length);
+        writer.println();
+    }
+
     @Override
     public void addException(AuditEvent event, Throwable throwable) {
         final StringWriter stringWriter = new StringWriter();
@@ -151,6 +188,17 @@ public class XMLLogger
      */
     public static String encode(String value) {
         final StringBuilder sb = new StringBuilder();
+        appendEncoded(value, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a value to a builder, escaping &lt;, &gt; &amp; &#39; and
+     * &quot; as their entities.
+     * @param value the value to escape.
+     * @param sb the builder to append to.
+     */
+    private static void appendEncoded(CharSequence value, StringBuilder sb) {
         for (int i = 0; i < value.length(); i++) {
             final char chr = value.charAt(i);
             switch (chr) {
@@ -174,7 +222,6 @@ public class XMLLogger
                     break;
             }
         }
-        return sb.toString();
     }
 
     /**
@@ -223,11 +270,11 @@ public class XMLLogger
      * @param ampPosition position of ampersand in value
      * @return encoded ampersand which should be used in xml
      */
-    private static String encodeAmpersand(String value, int ampPosition) {
-        final int nextSemi = value.indexOf(';', ampPosition);
+    private static String encodeAmpersand(CharSequence value, int ampPosition) {
+        final int nextSemi = indexOf(value, ';', ampPosition);
         String result;
         if (nextSemi < 0
-            || !isReference(value.substring(ampPosition, nextSemi + 1))) {
+            || !isReference(value.subSequence(ampPosition, nextSemi + 1).toString())) {
             result = "&amp;";
         }
         else {
@@ -235,4 +282,22 @@ public class XMLLogger
         }
         return result;
     }
+
+    /**
+     * Finds a character in a char sequence.
+     * @param value the sequence to search
+     * @param chr the character to find
+     * @param fromIndex the index to start the search from
+     * @return the index of the character or -1 if not found
+     */
+    private static int indexOf(CharSequence value, char chr, int fromIndex) {
+        int result = -1;
+        for (int i = fromIndex; i < value.length(); i++) {
+            if (value.charAt(i) == chr) {
+                result = i;
+                break;
+            }
+        }
+        return result;
+    }
 }
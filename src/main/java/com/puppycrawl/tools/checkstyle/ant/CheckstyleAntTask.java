@@ -103,6 +103,9 @@ public class CheckstyleAntTask extends Task {
     /** The maximum number of warnings that are tolerated. */
     private int maxWarnings = Integer.MAX_VALUE;
 
+    /** The number of threads used to audit files, 0 if not specified. */
+    private int threadCount;
+
     /**
      * Whether to omit ignored modules - some modules may log tove
      * their severity depending on their configuration (e.g. WriteTag) so
@@ -149,6 +152,15 @@ public class CheckstyleAntTask extends Task {
         this.maxWarnings = maxWarnings;
     }
 
+    /**
+     * Sets the number of threads used to audit files. Overrides the
+     * threadCount property of the Checker module when set.
+     * @param threadCount the number of threads
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
     /**
      * Adds set of files (nested fileset attribute).
      * @param fileSet the file set to add
@@ -401,6 +413,9 @@ public class CheckstyleAntTask extends Task {
             checker = new Checker();
             checker.contextualize(context);
             checker.configure(config);
+            if (threadCount > 0) {
+                checker.setThreadCount(threadCount);
+            }
         }
         catch (final CheckstyleException e) {
             throw new BuildException(String.format(Locale.ROOT, "Unable to create a Checker: "
@@ -55,6 +55,21 @@ public abstract class AbstractFileSetCheck
     protected abstract void processFiltered(File file, List<String> lines)
             throws CheckstyleException;
 
+    /**
+     * Called to process a file that matches the specified file extensions,
+     * when the contents of the file were read by Checker. Subclasses that
+     * need the full text of the file should override this method to use the
+     * text that was already decoded instead of joining the lines again.
+     * The default implementation calls {@link #processFiltered(File, List)}.
+     * @param file the file to be processed
+     * @param fileText the contents of the file.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    protected void processFiltered(File file, FileText fileText)
+            throws CheckstyleException {
+        processFiltered(file, (List<String>) fileText);
+    }
+
     @Override
     public void init() {
         // No code by default, should be overridden only by demand at subclasses
@@ -76,7 +91,12 @@ public abstract class AbstractFileSetCheck
         messageCollector.reset();
         // Process only what interested in
         if (CommonUtils.matchesFileExtension(file, fileExtensions)) {
-            processFiltered(file, lines);
+            if (lines instanceof FileText) {
+                processFiltered(file, (FileText) lines);
+            }
+            else {
+                processFiltered(file, lines);
+            }
         }
         return messageCollector.getMessages();
     }
@@ -86,6 +106,19 @@ public abstract class AbstractFileSetCheck
         // No code by default, should be overridden only by demand at subclasses
     }
 
+    /**
+     * Tells whether the messages this check logs for a file depend on the
+     * contents of that file only, so that Checker may take them from its
+     * cache instead of running the check on an unchanged file. Checks that
+     * look at other files, or that report in {@link #finishProcessing()}
+     * what they gathered from all files, must return false, they are then
+     * run on every file.
+     * @return true by default
+     */
+    public boolean isCacheable() {
+        return true;
+    }
+
     @Override
     public final void setMessageDispatcher(MessageDispatcher messageDispatcher) {
         this.messageDispatcher = messageDispatcher;
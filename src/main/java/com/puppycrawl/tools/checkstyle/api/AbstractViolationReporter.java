@@ -36,6 +36,9 @@ public abstract class AbstractViolationReporter
     /** The identifier of the reporter. */
     private String id;
 
+    /** The name of the default message bundle, shared by all messages. */
+    private String messageBundle;
+
     /**
      * Returns the severity level of the messages generated by this module.
      * @return the severity level
@@ -99,8 +102,11 @@ public abstract class AbstractViolationReporter
      *     used by this module.
      */
     protected String getMessageBundle() {
-        final String className = getClass().getName();
-        return getMessageBundle(className);
+        if (messageBundle == null) {
+            final String className = getClass().getName();
+            messageBundle = getMessageBundle(className);
+        }
+        return messageBundle;
     }
 
     /**
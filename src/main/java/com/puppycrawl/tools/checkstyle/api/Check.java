@@ -20,6 +20,7 @@
 package com.puppycrawl.tools.checkstyle.api;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -171,12 +172,22 @@ public abstract class Check extends AbstractViolationReporter {
 
     /**
      * Returns the lines associated with the tree.
+     * The array is a copy, {@link #getLineList()} avoids copying the lines.
      * @return the file contents
      */
     public final String[] getLines() {
         return fileContents.getLines();
     }
 
+    /**
+     * Returns the lines associated with the tree as a read-only list,
+     * without copying them.
+     * @return the lines of the file contents
+     */
+    public final List<String> getLineList() {
+        return fileContents.getLineList();
+    }
+
     /**
      * Returns the line associated with the tree.
      * @param index index of the line
@@ -252,7 +263,7 @@ public abstract class Check extends AbstractViolationReporter {
     public final void log(int lineNo, int colNo, String key,
             Object... args) {
         final int col = 1 + CommonUtils.lengthExpandedTabs(
-            getLines()[lineNo - 1], colNo, tabWidth);
+            getLine(lineNo - 1), colNo, tabWidth);
         messages.add(
             new LocalizedMessage(
                 lineNo,
@@ -21,14 +21,17 @@ package com.puppycrawl.tools.checkstyle.api;
 
 import java.io.File;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocModel;
 import com.puppycrawl.tools.checkstyle.grammars.CommentListener;
 
 /**
@@ -52,6 +55,9 @@ public final class FileContents implements CommentListener {
     /** The text. */
     private final FileText text;
 
+    /** Read-only view of the lines of the text. */
+    private final List<String> lineList;
+
     /** Map of the Javadoc comments indexed on the last line of the comment.
      * The hack is it assumes that there is only one Javadoc comment per line.
      */
@@ -66,6 +72,18 @@ public final class FileContents implements CommentListener {
      */
     private final Map<Integer, List<TextBlock>> clangComments = Maps.newHashMap();
 
+    /** Models of the Javadoc comments asked for so far, by comment. */
+    private final Map<TextBlock, JavadocModel> javadocModels = Maps.newIdentityHashMap();
+
+    /** Immutable copy of the C++ comments, null until requested after a change. */
+    private ImmutableMap<Integer, TextBlock> cppCommentsView;
+
+    /** Immutable copy of the C comments, null until requested after a change. */
+    private ImmutableMap<Integer, List<TextBlock>> clangCommentsView;
+
+    /** The C comments sorted by position, null until queried after a change. */
+    private CommentIndex clangCommentIndex;
+
     /**
      * Creates a new {@code FileContents} instance.
      *
@@ -78,6 +96,7 @@ public final class FileContents implements CommentListener {
     public FileContents(String filename, String... lines) {
         fileName = filename;
         text = FileText.fromLines(new File(filename), Arrays.asList(lines));
+        lineList = Collections.unmodifiableList(text);
     }
 
     /**
@@ -88,6 +107,7 @@ public final class FileContents implements CommentListener {
     public FileContents(FileText text) {
         fileName = text.getFile().toString();
         this.text = new FileText(text);
+        lineList = Collections.unmodifiableList(this.text);
     }
 
     @Override
@@ -113,6 +133,7 @@ public final class FileContents implements CommentListener {
         final Comment comment = new Comment(txt, startColNo, startLineNo,
                 line.length() - 1);
         cppComments.put(startLineNo, comment);
+        cppCommentsView = null;
     }
 
     /**
@@ -121,7 +142,10 @@ public final class FileContents implements CommentListener {
      * @return the Map of comments
      */
     public ImmutableMap<Integer, TextBlock> getCppComments() {
-        return ImmutableMap.copyOf(cppComments);
+        if (cppCommentsView == null) {
+            cppCommentsView = ImmutableMap.copyOf(cppComments);
+        }
+        return cppCommentsView;
     }
 
     /**
@@ -148,6 +172,8 @@ public final class FileContents implements CommentListener {
             entries.add(comment);
             clangComments.put(startLineNo, entries);
         }
+        clangCommentsView = null;
+        clangCommentIndex = null;
 
         // Remember if possible Javadoc comment
         if (line(startLineNo - 1).indexOf("/**", startColNo) != -1) {
@@ -162,7 +188,35 @@ public final class FileContents implements CommentListener {
      * @return the map of comments
      */
     public ImmutableMap<Integer, List<TextBlock>> getCComments() {
-        return ImmutableMap.copyOf(clangComments);
+        if (clangCommentsView == null) {
+            final ImmutableMap.Builder<Integer, List<TextBlock>> builder =
+                ImmutableMap.builder();
+            for (final Map.Entry<Integer, List<TextBlock>> entry : clangComments.entrySet()) {
+                builder.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+            }
+            clangCommentsView = builder.build();
+        }
+        return clangCommentsView;
+    }
+
+    /**
+     * Returns the C comment that starts at the specified position.
+     * @param startLineNo the starting line number
+     * @param startColNo the starting column number
+     * @return the comment, or {@code null} if no C comment starts there
+     */
+    public TextBlock getCComment(int startLineNo, int startColNo) {
+        TextBlock result = null;
+        final List<TextBlock> entries = clangComments.get(startLineNo);
+        if (entries != null) {
+            for (final TextBlock comment : entries) {
+                if (comment.getStartColNo() == startColNo) {
+                    result = comment;
+                    break;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -211,6 +265,23 @@ public final class FileContents implements CommentListener {
         return javadocComments.get(lineNo);
     }
 
+    /**
+     * Returns the model of a Javadoc comment of this file. The model is
+     * created on the first request and shared by all the checks of the
+     * file, so that they extract what they need from the comment once.
+     * @param javadoc the Javadoc comment, as returned by
+     *     {@link #getJavadocBefore(int)}
+     * @return the model of the Javadoc comment
+     */
+    public JavadocModel getJavadocModel(TextBlock javadoc) {
+        JavadocModel model = javadocModels.get(javadoc);
+        if (model == null) {
+            model = new JavadocModel(javadoc);
+            javadocModels.put(javadoc, model);
+        }
+        return model;
+    }
+
     /**
      * Get a single line.
      * For internal use only, as getText().get(lineNo) is just as
@@ -233,12 +304,21 @@ public final class FileContents implements CommentListener {
 
     /**
      * Gets the lines in the file.
+     * The array is a copy, {@link #getLineList()} avoids copying the lines.
      * @return the lines in the file
      */
     public String[] getLines() {
         return text.toLinesArray();
     }
 
+    /**
+     * Gets the lines in the file as a read-only list, without copying them.
+     * @return the lines in the file
+     */
+    public List<String> getLineList() {
+        return lineList;
+    }
+
     /**
      * Get the line from text of the file.
      * @param index index of the line
@@ -318,16 +398,10 @@ public final class FileContents implements CommentListener {
      */
     private boolean hasIntersectionWithCComment(int startLineNo, int startColNo,
             int endLineNo, int endColNo) {
-        // Check C comments (all comments should be checked)
-        final Collection<List<TextBlock>> values = clangComments.values();
-        for (final List<TextBlock> row : values) {
-            for (final TextBlock comment : row) {
-                if (comment.intersects(startLineNo, startColNo, endLineNo, endColNo)) {
-                    return true;
-                }
-            }
+        if (clangCommentIndex == null) {
+            clangCommentIndex = new CommentIndex(clangComments.values());
         }
-        return false;
+        return clangCommentIndex.intersects(startLineNo, startColNo, endLineNo, endColNo);
     }
 
     /**
@@ -351,4 +425,93 @@ public final class FileContents implements CommentListener {
         }
         return false;
     }
+
+    /**
+     * Comments sorted by their start position, to find the comments
+     * intersecting a range by a binary search instead of checking them all.
+     */
+    private static final class CommentIndex {
+        /**
+         * Multiplier combining a line and a column number into a single
+         * position, the same as the one of {@link Comment#intersects}.
+         */
+        private static final long MULTIPLIER = Integer.MAX_VALUE;
+
+        /** Orders comments by their start position. */
+        private static final Comparator<TextBlock> START_ORDER = new Comparator<TextBlock>() {
+            @Override
+            public int compare(TextBlock first, TextBlock second) {
+                final long firstStart =
+                    position(first.getStartLineNo(), first.getStartColNo());
+                final long secondStart =
+                    position(second.getStartLineNo(), second.getStartColNo());
+                return Long.compare(firstStart, secondStart);
+            }
+        };
+
+        /** The start positions of the comments, in ascending order. */
+        private final long[] starts;
+
+        /**
+         * The greatest end position of the comments up to each index, so that
+         * comments containing others need no special handling.
+         */
+        private final long[] maxEnds;
+
+        /**
+         * Indexes the given comments.
+         * @param comments the comments grouped by their start line
+         */
+        CommentIndex(Iterable<List<TextBlock>> comments) {
+            final List<TextBlock> sorted = Lists.newArrayList();
+            for (final List<TextBlock> row : comments) {
+                sorted.addAll(row);
+            }
+            Collections.sort(sorted, START_ORDER);
+            starts = new long[sorted.size()];
+            maxEnds = new long[sorted.size()];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < starts.length; i++) {
+                final TextBlock comment = sorted.get(i);
+                starts[i] = position(comment.getStartLineNo(), comment.getStartColNo());
+                maxEnd = Math.max(maxEnd,
+                    position(comment.getEndLineNo(), comment.getEndColNo()));
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        /**
+         * Checks whether any comment intersects a range.
+         * @param startLineNo the starting line number
+         * @param startColNo the starting column number
+         * @param endLineNo the ending line number
+         * @param endColNo the ending column number
+         * @return true if a comment intersects the range
+         */
+        boolean intersects(int startLineNo, int startColNo, int endLineNo, int endColNo) {
+            final long rangeEnd = position(endLineNo, endColNo);
+            // the last comment starting at or before the end of the range
+            int index = Arrays.binarySearch(starts, rangeEnd);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            else {
+                // several comments may start at the same position
+                while (index + 1 < starts.length && starts[index + 1] == rangeEnd) {
+                    index++;
+                }
+            }
+            return index >= 0 && maxEnds[index] >= position(startLineNo, startColNo);
+        }
+
+        /**
+         * Combines a line and a column number into a single position.
+         * @param lineNo the line number
+         * @param columnNo the column number
+         * @return the position
+         */
+        private static long position(int lineNo, int columnNo) {
+            return lineNo * MULTIPLIER + columnNo;
+        }
+    }
 }
@@ -19,30 +19,20 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.ArrayUtils;
 
-import com.google.common.io.Closeables;
-
 /**
  * Represents the text contents of a file of arbitrary plain text type.
  * <p>
@@ -58,19 +48,14 @@ import com.google.common.io.Closeables;
 public final class FileText extends AbstractList<String> {
 
     /**
-     * The number of characters to read in one go.
-     */
-    private static final int READ_BUFFER_SIZE = 1024;
-
-    /**
-     * Regular expression pattern matching all line terminators.
+     * The number of lines a file is expected to have at most, before
+     * the positions of its line breaks have to be reallocated.
      */
-    private static final Pattern LINE_TERMINATOR = Pattern.compile("\\n|\\r\\n?");
+    private static final int INITIAL_LINE_COUNT = 1024;
 
-    // For now, we always keep both full text and lines array.
-    // In the long run, however, the one passed at initialization might be
-    // enough, while the other could be lazily created when requested.
-    // This would save memory but cost CPU cycles.
+    // The full text is always kept, together with the positions of the
+    // line breaks. The strings of the lines are only created when they
+    // are requested, many checks look at a few lines of a file only.
 
     /**
      * The name of the file.
@@ -91,6 +76,7 @@ public final class FileText extends AbstractList<String> {
 
     /**
      * The lines of the file, without terminators.
+     * An element is {@code null} until the line is requested.
      */
     private final String[] lines;
 
@@ -114,14 +100,8 @@ public final class FileText extends AbstractList<String> {
     public FileText(File file, String charsetName) throws IOException {
         this.file = file;
 
-        // We use our own decoder, to be sure we have complete control
-        // about replacements.
-        final CharsetDecoder decoder;
         try {
             charset = Charset.forName(charsetName);
-            decoder = charset.newDecoder();
-            decoder.onMalformedInput(CodingErrorAction.REPLACE);
-            decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
         }
         catch (final UnsupportedCharsetException ex) {
             final String message = "Unsupported charset: " + charsetName;
@@ -130,22 +110,10 @@ public final class FileText extends AbstractList<String> {
             throw ex2;
         }
 
-        fullText = readFile(file, decoder);
-
-        // Use the BufferedReader to break down the lines as this
-        // is about 30% faster than using the
-        // LINE_TERMINATOR.split(fullText, -1) method
-        final ArrayList<String> textLines = new ArrayList<>();
-        final BufferedReader reader =
-            new BufferedReader(new StringReader(fullText));
-        while (true) {
-            final String line = reader.readLine();
-            if (line == null) {
-                break;
-            }
-            textLines.add(line);
-        }
-        lines = textLines.toArray(new String[textLines.size()]);
+        fullText = readFile(file, charset);
+
+        lineBreaks = findLineBreaks(fullText);
+        lines = new String[lineBreaks.length - 1];
     }
 
     /**
@@ -185,34 +153,23 @@ public final class FileText extends AbstractList<String> {
     }
 
     /**
-     * Reads file using specific decoder and returns all its content as a String.
+     * Reads file using specific charset and returns all its content as a String.
+     * The file is read in one go and decoded in one step, replacing
+     * malformed input and unmappable characters with the default
+     * replacement character of the charset. The JDK decodes ASCII
+     * and UTF-8 input without intermediate buffers.
      * @param inputFile File to read
-     * @param decoder Charset decoder
+     * @param charset Charset of the file
      * @return File's text
      * @throws IOException Unable to open or read the file
      */
-    private static String readFile(final File inputFile, final CharsetDecoder decoder)
+    private static String readFile(final File inputFile, final Charset charset)
             throws IOException {
         if (!inputFile.exists()) {
             throw new FileNotFoundException(inputFile.getPath() + " (No such file or directory)");
         }
-        final StringBuilder buf = new StringBuilder();
-        final FileInputStream stream = new FileInputStream(inputFile);
-        final Reader reader = new InputStreamReader(stream, decoder);
-        try {
-            final char[] chars = new char[READ_BUFFER_SIZE];
-            while (true) {
-                final int len = reader.read(chars);
-                if (len < 0) {
-                    break;
-                }
-                buf.append(chars, 0, len);
-            }
-        }
-        finally {
-            Closeables.closeQuietly(reader);
-        }
-        return buf.toString();
+        final byte[] bytes = Files.readAllBytes(inputFile.toPath());
+        return new String(bytes, charset);
     }
 
     /**
@@ -269,6 +226,9 @@ public final class FileText extends AbstractList<String> {
      * @return an array of all lines of the text
      */
     public String[] toLinesArray() {
+        for (int i = 0; i < lines.length; i++) {
+            get(i);
+        }
         return lines.clone();
     }
 
@@ -278,20 +238,47 @@ public final class FileText extends AbstractList<String> {
      */
     private int[] findLineBreaks() {
         if (lineBreaks == null) {
-            final int[] lineBreakPositions = new int[size() + 1];
-            lineBreakPositions[0] = 0;
-            int lineNo = 1;
-            final Matcher matcher = LINE_TERMINATOR.matcher(fullText);
-            while (matcher.find()) {
-                lineBreakPositions[lineNo] = matcher.end();
-                lineNo++;
+            lineBreaks = findLineBreaks(fullText);
+        }
+        return lineBreaks;
+    }
+
+    /**
+     * Find positions of line breaks in a text. Lines are terminated
+     * by {@code \n}, {@code \r} or {@code \r\n}, the same way as by
+     * {@link java.io.BufferedReader#readLine()}.
+     * @param text the text
+     * @return an array giving the first positions of each line, followed
+     *     by the position after the end of the last line.
+     */
+    private static int[] findLineBreaks(String text) {
+        int[] positions = new int[INITIAL_LINE_COUNT];
+        int count = 1;
+        final int length = text.length();
+        int pos = 0;
+        while (pos < length) {
+            final char chr = text.charAt(pos);
+            pos++;
+            if (chr == '\n' || chr == '\r') {
+                if (chr == '\r' && pos < length && text.charAt(pos) == '\n') {
+                    pos++;
+                }
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count] = pos;
+                count++;
             }
-            if (lineNo < lineBreakPositions.length) {
-                lineBreakPositions[lineNo] = fullText.length();
+        }
+        if (positions[count - 1] < length) {
+            // the last line has no terminator
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count + 1);
             }
-            lineBreaks = lineBreakPositions;
+            positions[count] = length;
+            count++;
         }
-        return lineBreaks;
+        return Arrays.copyOf(positions, count);
     }
 
     /**
@@ -321,7 +308,53 @@ public final class FileText extends AbstractList<String> {
      */
     @Override
     public String get(final int lineNo) {
-        return lines[lineNo];
+        String line = lines[lineNo];
+        if (line == null) {
+            final int[] lineBreakPositions = findLineBreaks();
+            line = fullText.substring(lineBreakPositions[lineNo],
+                    getEndOfLine(lineNo));
+            lines[lineNo] = line;
+        }
+        return line;
+    }
+
+    /**
+     * Retrieves a line of the text by its number, as a read-only view of
+     * the full text. Unlike {@link #get(int)}, this method does not copy
+     * the characters of the line, which makes it the better choice for
+     * checks that only scan each line once.
+     * The returned line will not contain a trailing terminator.
+     * @param lineNo the number of the line to get, starting at zero
+     * @return the line with the given number
+     */
+    public CharSequence getLineView(final int lineNo) {
+        final CharSequence line;
+        if (lines[lineNo] == null) {
+            line = CharBuffer.wrap(fullText, findLineBreaks()[lineNo], getEndOfLine(lineNo));
+        }
+        else {
+            line = lines[lineNo];
+        }
+        return line;
+    }
+
+    /**
+     * Finds the end of a line, excluding its terminator.
+     * @param lineNo the number of the line, starting at zero
+     * @return the position in the full text after the last character
+     *     of the line
+     */
+    private int getEndOfLine(int lineNo) {
+        final int[] lineBreakPositions = findLineBreaks();
+        final int start = lineBreakPositions[lineNo];
+        int end = lineBreakPositions[lineNo + 1];
+        if (end > start && fullText.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && fullText.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return end;
     }
 
     /**
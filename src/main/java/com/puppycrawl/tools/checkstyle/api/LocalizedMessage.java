@@ -29,36 +29,58 @@ import java.net.URLConnection;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
 import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents a message that can be localised. The translations come from
  * message.properties files. The underlying implementation uses
  * java.text.MessageFormat.
  *
+ * <p>A message is kept in a compact form until it is rendered: the line and
+ * column as ints, the arguments, and the bundle, key, severity, module id,
+ * source and custom message as one interned record shared by all messages
+ * a module logs with the same key. The text is only formatted by
+ * {@link #getMessage()} or {@link #appendMessage(StringBuffer)}.</p>
+ *
  * @author Oliver Burn
  * @author lkuehne
  */
 public final class LocalizedMessage
     implements Comparable<LocalizedMessage>, Serializable {
-    private static final long serialVersionUID = 5675176836184862150L;
+    private static final long serialVersionUID = -3315437316151484298L;
 
     /** The locale to localise messages to. **/
     private static Locale sLocale = Locale.getDefault();
 
     /**
-     * A cache that maps bundle names to ResourceBundles.
+     * A cache that maps bundle names and locales to ResourceBundles.
      * Avoids repetitive calls to ResourceBundle.getBundle().
      */
-    private static final Map<String, ResourceBundle> BUNDLE_CACHE =
-        Collections.synchronizedMap(new HashMap<String, ResourceBundle>());
+    private static final ConcurrentMap<List<Object>, ResourceBundle> BUNDLE_CACHE =
+        new ConcurrentHashMap<>();
+
+    /**
+     * A cache that maps bundle names, keys and locales, or custom messages,
+     * to parsed formats. Formats are cloned before use as they are not
+     * thread safe.
+     */
+    private static final ConcurrentMap<List<Object>, MessageFormat> FORMAT_CACHE =
+        new ConcurrentHashMap<>();
+
+    /** The interned records of what messages have in common. */
+    private static final ConcurrentMap<MessageKind, MessageKind> KINDS =
+        new ConcurrentHashMap<>();
+
+    /** Arguments shared by all messages without arguments. */
+    private static final Object[] EMPTY_ARGS = {};
 
     /** The default severity level if one is not specified. */
     private static final SeverityLevel DEFAULT_SEVERITY = SeverityLevel.ERROR;
@@ -68,27 +90,12 @@ public final class LocalizedMessage
     /** The column number. **/
     private final int columnNo;
 
-    /** The severity level. **/
-    private final SeverityLevel severityLevel;
-
-    /** The id of the module generating the message. */
-    private final String moduleId;
-
-    /** Key for the message format. **/
-    private final String key;
+    /** What the message has in common with the others of its kind. */
+    private final MessageKind kind;
 
     /** Arguments for MessageFormat. **/
     private final Object[] args;
 
-    /** Name of the resource bundle to get messages from. **/
-    private final String bundle;
-
-    /** Class of the source for this LocalizedMessage. */
-    private final Class<?> sourceClass;
-
-    /** A custom message overriding the default message from the bundle. */
-    private final String customMessage;
-
     /**
      * Creates a new {@code LocalizedMessage} instance.
      *
@@ -113,19 +120,18 @@ public final class LocalizedMessage
                             String customMessage) {
         this.lineNo = lineNo;
         this.columnNo = columnNo;
-        this.key = key;
+        kind = MessageKind.intern(new MessageKind(bundle, key, severityLevel,
+                moduleId, sourceClass, customMessage));
 
         if (args == null) {
             this.args = null;
         }
+        else if (args.length == 0) {
+            this.args = EMPTY_ARGS;
+        }
         else {
             this.args = Arrays.copyOf(args, args.length);
         }
-        this.bundle = bundle;
-        this.severityLevel = severityLevel;
-        this.moduleId = moduleId;
-        this.sourceClass = sourceClass;
-        this.customMessage = customMessage;
     }
 
     /**
@@ -218,26 +224,20 @@ public final class LocalizedMessage
         final LocalizedMessage localizedMessage = (LocalizedMessage) object;
         return Objects.equals(lineNo, localizedMessage.lineNo)
                 && Objects.equals(columnNo, localizedMessage.columnNo)
-                && Objects.equals(severityLevel, localizedMessage.severityLevel)
-                && Objects.equals(moduleId, localizedMessage.moduleId)
-                && Objects.equals(key, localizedMessage.key)
-                && Objects.equals(bundle, localizedMessage.bundle)
-                && Objects.equals(sourceClass, localizedMessage.sourceClass)
-                && Objects.equals(customMessage, localizedMessage.customMessage)
+                && Objects.equals(kind, localizedMessage.kind)
                 && Arrays.equals(args, localizedMessage.args);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(lineNo, columnNo, severityLevel, moduleId, key, bundle, sourceClass,
-                customMessage, Arrays.hashCode(args));
+        return Objects.hash(lineNo, columnNo, kind, Arrays.hashCode(args));
     }
 
     /** Clears the cache. */
     public static void clearCache() {
-        synchronized (BUNDLE_CACHE) {
-            BUNDLE_CACHE.clear();
-        }
+        BUNDLE_CACHE.clear();
+        FORMAT_CACHE.clear();
+        KINDS.clear();
     }
 
     /**
@@ -245,42 +245,68 @@ public final class LocalizedMessage
      * @return the translated message
      */
     public String getMessage() {
-        String message = getCustomMessage();
+        return appendMessage(new StringBuffer()).toString();
+    }
 
-        if (message == null) {
+    /**
+     * Appends the translated message to a buffer. Lets listeners that write
+     * many messages reuse one buffer instead of creating a string for each.
+     * @param buffer the buffer to append to
+     * @return the buffer
+     */
+    public StringBuffer appendMessage(StringBuffer buffer) {
+        final MessageFormat formatter;
+        if (kind.customMessage == null) {
+            formatter = getBundleFormat();
+        }
+        else {
+            formatter = getCustomFormat();
+        }
+        return ((MessageFormat) formatter.clone()).format(args, buffer, null);
+    }
+
+    /**
+     * Returns the parsed format of the custom message.
+     * @return the format of the custom message
+     */
+    private MessageFormat getCustomFormat() {
+        final List<Object> cacheKey = Collections.<Object>singletonList(kind.customMessage);
+        MessageFormat formatter = FORMAT_CACHE.get(cacheKey);
+        if (formatter == null) {
+            formatter = new MessageFormat(kind.customMessage, Locale.ROOT);
+            FORMAT_CACHE.putIfAbsent(cacheKey, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * Returns the parsed format of the translation of the key.
+     * @return the format of the translated message
+     */
+    private MessageFormat getBundleFormat() {
+        final Locale locale = sLocale;
+        final List<Object> cacheKey = Arrays.<Object>asList(kind.bundle, kind.key, locale);
+        MessageFormat formatter = FORMAT_CACHE.get(cacheKey);
+        if (formatter == null) {
+            String pattern;
             try {
                 // Important to use the default class loader, and not the one in
                 // the GlobalProperties object. This is because the class loader in
                 // the GlobalProperties is specified by the user for resolving
                 // custom classes.
-                final ResourceBundle resourceBundle = getBundle(bundle);
-                final String pattern = resourceBundle.getString(key);
-                final MessageFormat formatter = new MessageFormat(pattern, Locale.ROOT);
-                message = formatter.format(args);
+                final ResourceBundle resourceBundle = getBundle(kind.bundle, locale);
+                pattern = resourceBundle.getString(kind.key);
             }
             catch (final MissingResourceException ignored) {
                 // If the Check author didn't provide i18n resource bundles
                 // and logs error messages directly, this will return
                 // the author's original message
-                final MessageFormat formatter = new MessageFormat(key, Locale.ROOT);
-                message = formatter.format(args);
+                pattern = kind.key;
             }
+            formatter = new MessageFormat(pattern, Locale.ROOT);
+            FORMAT_CACHE.putIfAbsent(cacheKey, formatter);
         }
-        return message;
-    }
-
-    /**
-     * Returns the formatted custom message if one is configured.
-     * @return the formatted custom message or {@code null}
-     *          if there is no custom message
-     */
-    private String getCustomMessage() {
-
-        if (customMessage == null) {
-            return null;
-        }
-        final MessageFormat formatter = new MessageFormat(customMessage, Locale.ROOT);
-        return formatter.format(args);
+        return formatter;
     }
 
     /**
@@ -288,19 +314,18 @@ public final class LocalizedMessage
      * of the class emitting this message, to be sure to get the correct
      * bundle.
      * @param bundleName the bundle name
+     * @param locale the locale of the bundle
      * @return a ResourceBundle
      */
-    private ResourceBundle getBundle(String bundleName) {
-        synchronized (BUNDLE_CACHE) {
-            ResourceBundle resourceBundle = BUNDLE_CACHE
-                    .get(bundleName);
-            if (resourceBundle == null) {
-                resourceBundle = ResourceBundle.getBundle(bundleName, sLocale,
-                        sourceClass.getClassLoader(), new UTF8Control());
-                BUNDLE_CACHE.put(bundleName, resourceBundle);
-            }
-            return resourceBundle;
+    private ResourceBundle getBundle(String bundleName, Locale locale) {
+        final List<Object> cacheKey = Arrays.<Object>asList(bundleName, locale);
+        ResourceBundle resourceBundle = BUNDLE_CACHE.get(cacheKey);
+        if (resourceBundle == null) {
+            resourceBundle = ResourceBundle.getBundle(bundleName, locale,
+                    kind.sourceClass.getClassLoader(), new UTF8Control());
+            BUNDLE_CACHE.putIfAbsent(cacheKey, resourceBundle);
         }
+        return resourceBundle;
     }
 
     /**
@@ -324,14 +349,14 @@ public final class LocalizedMessage
      * @return the severity level
      */
     public SeverityLevel getSeverityLevel() {
-        return severityLevel;
+        return kind.severityLevel;
     }
 
     /**
      * @return the module identifier.
      */
     public String getModuleId() {
-        return moduleId;
+        return kind.moduleId;
     }
 
     /**
@@ -341,7 +366,7 @@ public final class LocalizedMessage
      * @return the message key
      */
     public String getKey() {
-        return key;
+        return kind.key;
     }
 
     /**
@@ -349,7 +374,7 @@ public final class LocalizedMessage
      * @return the name of the source for this LocalizedMessage
      */
     public String getSourceName() {
-        return sourceClass.getName();
+        return kind.sourceClass.getName();
     }
 
     /**
@@ -375,7 +400,12 @@ public final class LocalizedMessage
 
         if (lineNo == other.lineNo) {
             if (columnNo == other.columnNo) {
-                result = getMessage().compareTo(other.getMessage());
+                if (isSameText(other)) {
+                    result = 0;
+                }
+                else {
+                    result = getMessage().compareTo(other.getMessage());
+                }
             }
             else {
                 result = Integer.compare(columnNo, other.columnNo);
@@ -384,6 +414,17 @@ public final class LocalizedMessage
         return result;
     }
 
+    /**
+     * Checks whether another message is rendered from the same pattern and
+     * arguments, so that the texts need not be formatted to compare them.
+     * @param other the message to compare with
+     * @return true if both messages have the same text
+     */
+    private boolean isSameText(LocalizedMessage other) {
+        return kind.hasSamePattern(other.kind)
+                && Arrays.equals(args, other.args);
+    }
+
     /**
      * <p>
      * Custom ResourceBundle.Control implementation which allows explicitly read
@@ -427,4 +468,107 @@ public final class LocalizedMessage
             return resourceBundle;
         }
     }
+
+    /**
+     * What the messages a module logs with the same key have in common.
+     * Instances are interned, so that the messages of a kind share one.
+     */
+    private static final class MessageKind implements Serializable {
+        private static final long serialVersionUID = 2604315930519557215L;
+
+        /** Name of the resource bundle to get messages from. **/
+        private final String bundle;
+
+        /** Key for the message format. **/
+        private final String key;
+
+        /** The severity level. **/
+        private final SeverityLevel severityLevel;
+
+        /** The id of the module generating the message. */
+        private final String moduleId;
+
+        /** Class of the source for this LocalizedMessage. */
+        private final Class<?> sourceClass;
+
+        /** A custom message overriding the default message from the bundle. */
+        private final String customMessage;
+
+        /**
+         * Creates a new kind of messages.
+         * @param bundle resource bundle name
+         * @param key the key to locate the translation
+         * @param severityLevel severity level for the message
+         * @param moduleId the id of the module the message is associated with
+         * @param sourceClass the Class that is the source of the message
+         * @param customMessage optional custom message overriding the default
+         */
+        MessageKind(String bundle, String key, SeverityLevel severityLevel,
+                String moduleId, Class<?> sourceClass, String customMessage) {
+            this.bundle = bundle;
+            this.key = key;
+            this.severityLevel = severityLevel;
+            this.moduleId = moduleId;
+            this.sourceClass = sourceClass;
+            this.customMessage = customMessage;
+        }
+
+        /**
+         * Returns the shared instance equal to a kind.
+         * @param kind the kind of messages
+         * @return the interned kind
+         */
+        static MessageKind intern(MessageKind kind) {
+            MessageKind interned = KINDS.putIfAbsent(kind, kind);
+            if (interned == null) {
+                interned = kind;
+            }
+            return interned;
+        }
+
+        /**
+         * Checks whether the messages of another kind are rendered from the
+         * same pattern.
+         * @param other the other kind
+         * @return true if both kinds have the same pattern
+         */
+        boolean hasSamePattern(MessageKind other) {
+            return this == other
+                    || (Objects.equals(key, other.key)
+                        && Objects.equals(bundle, other.bundle)
+                        && Objects.equals(customMessage, other.customMessage)
+                        && Objects.equals(sourceClass, other.sourceClass));
+        }
+
+        /**
+         * Interns deserialized kinds.
+         * @return the interned kind
+         */
+        private Object readResolve() {
+            return intern(this);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            final MessageKind messageKind = (MessageKind) object;
+            return Objects.equals(severityLevel, messageKind.severityLevel)
+                    && Objects.equals(moduleId, messageKind.moduleId)
+                    && Objects.equals(key, messageKind.key)
+                    && Objects.equals(bundle, messageKind.bundle)
+                    && Objects.equals(sourceClass, messageKind.sourceClass)
+                    && Objects.equals(customMessage, messageKind.customMessage);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(severityLevel, moduleId, key, bundle, sourceClass,
+                    customMessage);
+        }
+    }
 }
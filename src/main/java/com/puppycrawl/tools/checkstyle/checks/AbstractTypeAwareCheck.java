@@ -25,6 +25,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.puppycrawl.tools.checkstyle.api.Check;
@@ -56,6 +57,15 @@ public abstract class AbstractTypeAwareCheck extends Check {
     /** {@code ClassResolver} instance for current tree. */
     private ClassResolver classResolver;
 
+    /**
+     * Results of class loading shared by the resolvers of all trees,
+     * including the names that could not be loaded.
+     */
+    private final Map<String, Optional<Class<?>>> loadedClasses = Maps.newHashMap();
+
+    /** The class loader {@link #loadedClasses} were loaded with. */
+    private ClassLoader loadedClassesLoader;
+
     /** Stack of maps for type params. */
     private final Deque<Map<String, AbstractClassInfo>> typeParams = new ArrayDeque<>();
 
@@ -205,10 +215,16 @@ public abstract class AbstractTypeAwareCheck extends Check {
      */
     private ClassResolver getClassResolver() {
         if (classResolver == null) {
+            final ClassLoader classLoader = getClassLoader();
+            if (classLoader != loadedClassesLoader) {
+                loadedClasses.clear();
+                loadedClassesLoader = classLoader;
+            }
             classResolver =
-                new ClassResolver(getClassLoader(),
+                new ClassResolver(classLoader,
                                   packageFullIdent.getText(),
-                                  imports);
+                                  imports,
+                                  loadedClasses);
         }
         return classResolver;
     }
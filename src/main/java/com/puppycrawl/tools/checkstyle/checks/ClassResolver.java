@@ -19,9 +19,13 @@
 
 package com.puppycrawl.tools.checkstyle.checks;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import com.google.common.base.Optional;
+
 /**
  * Utility class to resolve a class name to an actual class. Note that loaded
  * classes are not initialized.
@@ -42,6 +46,11 @@ public class ClassResolver {
     private final Set<String> imports;
     /** Use to load classes. **/
     private final ClassLoader loader;
+    /**
+     * Results of the loading of classes by name with {@link #loader},
+     * absent for the names that could not be loaded.
+     **/
+    private final Map<String, Optional<Class<?>>> loadedClasses;
 
     /**
      * Creates a new {@code ClassResolver} instance.
@@ -51,10 +60,28 @@ public class ClassResolver {
      * @param imports set of imports to check if the class belongs to
      */
     public ClassResolver(ClassLoader loader, String pkg, Set<String> imports) {
+        this(loader, pkg, imports, new HashMap<String, Optional<Class<?>>>());
+    }
+
+    /**
+     * Creates a new {@code ClassResolver} instance that shares the results
+     * of class loading with other resolvers. Both the loaded classes and the
+     * names that could not be loaded are remembered, so repeated lookups do
+     * not go through the class loader again.
+     *
+     * @param loader the ClassLoader to load classes with.
+     * @param pkg the name of the package the class may belong to
+     * @param imports set of imports to check if the class belongs to
+     * @param loadedClasses the results of class loading with {@code loader},
+     *     filled by this resolver
+     */
+    public ClassResolver(ClassLoader loader, String pkg, Set<String> imports,
+            Map<String, Optional<Class<?>>> loadedClasses) {
         this.loader = loader;
         this.pkg = pkg;
         this.imports = new HashSet<>(imports);
         this.imports.add("java.lang.*");
+        this.loadedClasses = loadedClasses;
     }
 
     /**
@@ -176,16 +203,41 @@ public class ClassResolver {
 
     /**
      * Will load a specified class is such a way that it will NOT be
-     * initialised.
+     * initialised. The other lookups of the resolver go through this method,
+     * it only reaches the class loader for names whose result is not known.
      * @param name name of the class to load
      * @return the {@code Class} for the specified class
      * @throws ClassNotFoundException if an error occurs
      */
     public Class<?> safeLoad(String name) throws ClassNotFoundException {
-        // The next line will load the class using the specified class
-        // loader. The magic is having the "false" parameter. This means the
-        // class will not be initialised. Very, very important.
-        return Class.forName(name, false, loader);
+        final Optional<Class<?>> clazz = load(name);
+        if (!clazz.isPresent()) {
+            throw new ClassNotFoundException(name);
+        }
+        return clazz.get();
+    }
+
+    /**
+     * Loads a specified class without initialising it, unless the result
+     * of a previous attempt is known.
+     * @param name name of the class to load
+     * @return the class, absent if it cannot be loaded
+     */
+    private Optional<Class<?>> load(String name) {
+        Optional<Class<?>> clazz = loadedClasses.get(name);
+        if (clazz == null) {
+            try {
+                // The next line will load the class using the specified class
+                // loader. The magic is having the "false" parameter. This means the
+                // class will not be initialised. Very, very important.
+                clazz = Optional.<Class<?>>of(Class.forName(name, false, loader));
+            }
+            catch (final ClassNotFoundException ignored) {
+                clazz = Optional.absent();
+            }
+            loadedClasses.put(name, clazz);
+        }
+        return clazz;
     }
 
     /**
@@ -148,6 +148,15 @@ public class TranslationCheck
         propertyFiles.add(file);
     }
 
+    /**
+     * Results depend on all the files of a bundle, so the check runs on every file.
+     * @return false
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
     @Override
     public void finishProcessing() {
         super.finishProcessing();
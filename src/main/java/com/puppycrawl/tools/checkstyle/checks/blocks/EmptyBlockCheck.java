@@ -19,6 +19,8 @@
 
 package com.puppycrawl.tools.checkstyle.checks.blocks;
 
+import java.util.List;
+
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -181,11 +183,11 @@ public class EmptyBlockCheck
         final int slistColNo = slistAST.getColumnNo();
         final int rcurlyLineNo = rcurlyAST.getLineNo();
         final int rcurlyColNo = rcurlyAST.getColumnNo();
-        final String[] lines = getLines();
+        final List<String> lines = getLineList();
         boolean returnValue = false;
         if (slistLineNo == rcurlyLineNo) {
             // Handle braces on the same line
-            final String txt = lines[slistLineNo - 1]
+            final String txt = lines.get(slistLineNo - 1)
                     .substring(slistColNo + 1, rcurlyColNo);
             if (StringUtils.isNotBlank(txt)) {
                 returnValue = true;
@@ -193,8 +195,8 @@ public class EmptyBlockCheck
         }
         else {
             // check only whitespace of first & last lines
-            if (lines[slistLineNo - 1].substring(slistColNo + 1).trim().isEmpty()
-                    && lines[rcurlyLineNo - 1].substring(0, rcurlyColNo).trim().isEmpty()) {
+            if (lines.get(slistLineNo - 1).substring(slistColNo + 1).trim().isEmpty()
+                    && lines.get(rcurlyLineNo - 1).substring(0, rcurlyColNo).trim().isEmpty()) {
                 // check if all lines are also only whitespace
                 returnValue = !checkIsAllLinesAreWhitespace(lines, slistLineNo, rcurlyLineNo);
             }
@@ -209,17 +211,18 @@ public class EmptyBlockCheck
      * Checks is all lines in array contain whitespaces only.
      *
      * @param lines
-     *            array of lines
+     *            list of lines
      * @param lineFrom
      *            check from this line number
      * @param lineTo
      *            check to this line numbers
      * @return true if lines contain only whitespaces
      */
-    private static boolean checkIsAllLinesAreWhitespace(String[] lines, int lineFrom, int lineTo) {
+    private static boolean checkIsAllLinesAreWhitespace(List<String> lines,
+            int lineFrom, int lineTo) {
         boolean result = true;
         for (int i = lineFrom; i < lineTo - 1; i++) {
-            if (!lines[i].trim().isEmpty()) {
+            if (!lines.get(i).trim().isEmpty()) {
                 result = false;
                 break;
             }
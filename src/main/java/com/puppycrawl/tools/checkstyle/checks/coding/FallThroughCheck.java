@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.coding;
 
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -324,10 +325,10 @@ public class FallThroughCheck extends Check {
 
         /*
          * Remember: The lines number returned from the AST is 1-based, but
-         * the lines number in this array are 0-based. So you will often
+         * the lines number in this list are 0-based. So you will often
          * see a "lineNo-1" etc.
          */
-        final String[] lines = getLines();
+        final List<String> lines = getLineList();
 
         /*
          * Handle:
@@ -339,7 +340,7 @@ public class FallThroughCheck extends Check {
          *    default:
          *    /+ FALLTHRU +/}
          */
-        final String linePart = lines[endLineNo - 1].substring(0, endColNo);
+        final String linePart = lines.get(endLineNo - 1).substring(0, endColNo);
         if (matchesComment(regExp, linePart, endLineNo)) {
             allThroughComment = true;
         }
@@ -359,8 +360,8 @@ public class FallThroughCheck extends Check {
              */
             final int startLineNo = currentCase.getLineNo();
             for (int i = endLineNo - 2; i > startLineNo - 1; i--) {
-                if (!lines[i].trim().isEmpty()) {
-                    allThroughComment = matchesComment(regExp, lines[i], i + 1);
+                if (!lines.get(i).trim().isEmpty()) {
+                    allThroughComment = matchesComment(regExp, lines.get(i), i + 1);
                     break;
                 }
             }
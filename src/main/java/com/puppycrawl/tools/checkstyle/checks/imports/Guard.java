@@ -19,6 +19,8 @@
 
 package com.puppycrawl.tools.checkstyle.checks.imports;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents whether a package is allowed to be used or not.
  * @author Oliver Burn
@@ -44,6 +46,18 @@ class Guard {
      */
     private final boolean regExp;
 
+    /**
+     * The compiled class name or the pattern matching members of the
+     * package, null unless the guard uses regular expressions.
+     */
+    private final Pattern pattern;
+
+    /**
+     * The pattern matching members of sub packages of the package, null
+     * unless the guard uses regular expressions and an exact match.
+     */
+    private final Pattern subPackagePattern;
+
     /**
      * Constructs an instance.
      * @param allow whether to allow access.
@@ -61,6 +75,19 @@ class Guard {
         this.regExp = regExp;
         className = null;
         this.exactMatch = exactMatch;
+        if (regExp) {
+            pattern = Pattern.compile(pkgName + "\\..*");
+            if (exactMatch) {
+                subPackagePattern = Pattern.compile(pkgName + "\\..*\\..*");
+            }
+            else {
+                subPackagePattern = null;
+            }
+        }
+        else {
+            pattern = null;
+            subPackagePattern = null;
+        }
     }
 
     /**
@@ -81,6 +108,13 @@ class Guard {
 
         // not used
         exactMatch = true;
+        subPackagePattern = null;
+        if (regExp) {
+            pattern = Pattern.compile(className);
+        }
+        else {
+            pattern = null;
+        }
     }
 
     /**
@@ -93,7 +127,7 @@ class Guard {
             final boolean classMatch;
 
             if (regExp) {
-                classMatch = forImport.matches(className);
+                classMatch = pattern.matcher(forImport).matches();
             }
             else {
                 classMatch = forImport.equals(className);
@@ -107,9 +141,9 @@ class Guard {
         // another "." as this indicates that it is not an exact match.
         boolean pkgMatch;
         if (regExp) {
-            pkgMatch = forImport.matches(pkgName + "\\..*");
+            pkgMatch = pattern.matcher(forImport).matches();
             if (pkgMatch && exactMatch) {
-                pkgMatch = !forImport.matches(pkgName + "\\..*\\..*");
+                pkgMatch = !subPackagePattern.matcher(forImport).matches();
             }
         }
         else {
@@ -122,6 +156,29 @@ class Guard {
         return calculateResult(pkgMatch);
     }
 
+    /**
+     * @return the class to apply the guard on, null if the guard applies
+     *     to a package.
+     */
+    String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the package to apply the guard on, null if the guard applies
+     *     to a class.
+     */
+    String getPkgName() {
+        return pkgName;
+    }
+
+    /**
+     * @return whether the class or the package name is a regular expression.
+     */
+    boolean isRegExp() {
+        return regExp;
+    }
+
     /**
      * @return returns whether the guard is to only be applied locally.
      */
@@ -27,6 +27,7 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.PatternSyntaxException;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -111,16 +112,21 @@ final class ImportControlLoader extends AbstractLoader {
             final String pkg = attributes.getValue(PKG_ATTRIBUTE_NAME);
             final boolean regex = attributes.getValue("regex") != null;
             final Guard guard;
-            if (pkg == null) {
-                // handle class names which can be normal class names or regular
-                // expressions
-                final String clazz = safeGet(attributes, "class");
-                guard = new Guard(isAllow, isLocalOnly, clazz, regex);
+            try {
+                if (pkg == null) {
+                    // handle class names which can be normal class names or regular
+                    // expressions
+                    final String clazz = safeGet(attributes, "class");
+                    guard = new Guard(isAllow, isLocalOnly, clazz, regex);
+                }
+                else {
+                    final boolean exactMatch =
+                            attributes.getValue("exact-match") != null;
+                    guard = new Guard(isAllow, isLocalOnly, pkg, exactMatch, regex);
+                }
             }
-            else {
-                final boolean exactMatch =
-                        attributes.getValue("exact-match") != null;
-                guard = new Guard(isAllow, isLocalOnly, pkg, exactMatch, regex);
+            catch (final PatternSyntaxException e) {
+                throw new SAXException("invalid regular expression " + e.getPattern(), e);
             }
 
             final PkgControl pkgControl = stack.peek();
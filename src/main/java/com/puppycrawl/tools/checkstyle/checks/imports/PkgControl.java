@@ -19,10 +19,13 @@
 
 package com.puppycrawl.tools.checkstyle.checks.imports;
 
-import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * Represents the a tree of guards for controlling whether packages are allowed
@@ -32,10 +35,26 @@ import com.google.common.collect.Lists;
  * @author Oliver Burn
  */
 class PkgControl {
-    /** List of {@link Guard} objects to check. */
-    private final Deque<Guard> guards = Lists.newLinkedList();
+    /**
+     * Guards for plain class names by class name, each list holds the
+     * guards in the order they are checked.
+     */
+    private final Map<String, List<Guard>> classGuards = Maps.newHashMap();
+    /**
+     * Guards for plain package names by package name, each list holds the
+     * guards in the order they are checked.
+     */
+    private final Map<String, List<Guard>> packageGuards = Maps.newHashMap();
+    /** Guards using regular expressions, in the order they are checked. */
+    private final List<Guard> regExpGuards = Lists.newArrayList();
+    /** The position of each guard, guards added later are checked first. */
+    private final Map<Guard, Integer> guardRanks = Maps.newHashMap();
     /** List of children {@link PkgControl} objects. */
     private final List<PkgControl> children = Lists.newArrayList();
+    /** The first child for each full package name. */
+    private final Map<String, PkgControl> childrenByPackage = Maps.newHashMap();
+    /** The distinct lengths of the full package names of the children. */
+    private final SortedSet<Integer> childPackageLengths = Sets.newTreeSet();
     /** The parent. Null indicates we are the root node. */
     private final PkgControl parent;
     /** The full package name for the node. */
@@ -59,6 +78,10 @@ class PkgControl {
         this.parent = parent;
         fullPackage = parent.fullPackage + "." + subPkg;
         parent.children.add(this);
+        if (!parent.childrenByPackage.containsKey(fullPackage)) {
+            parent.childrenByPackage.put(fullPackage, this);
+        }
+        parent.childPackageLengths.add(fullPackage.length());
     }
 
     /**
@@ -66,7 +89,34 @@ class PkgControl {
      * @param thug the guard to be added.
      */
     void addGuard(final Guard thug) {
-        guards.addFirst(thug);
+        guardRanks.put(thug, guardRanks.size());
+        final List<Guard> candidates;
+        if (thug.isRegExp()) {
+            candidates = regExpGuards;
+        }
+        else if (thug.getClassName() == null) {
+            candidates = getGuardList(packageGuards, thug.getPkgName());
+        }
+        else {
+            candidates = getGuardList(classGuards, thug.getClassName());
+        }
+        candidates.add(0, thug);
+    }
+
+    /**
+     * Returns the guards stored for a name, creating the list if needed.
+     * @param index the guards by name.
+     * @param name the class or package name.
+     * @return the list of guards for the name.
+     */
+    private static List<Guard> getGuardList(Map<String, List<Guard>> index,
+        String name) {
+        List<Guard> result = index.get(name);
+        if (result == null) {
+            result = Lists.newArrayList();
+            index.put(name, result);
+        }
+        return result;
     }
 
     /**
@@ -89,18 +139,50 @@ class PkgControl {
         if (forPkg.startsWith(fullPackage)) {
             // If there won't be match so I am the best there is.
             finestMatch = this;
-            // Check if any of the children match.
-            for (PkgControl pc : children) {
-                final PkgControl match = pc.locateFinest(forPkg);
-                if (match != null) {
-                    finestMatch = match;
-                    break;
-                }
+            // Check if any of the children match, the first one added wins.
+            final PkgControl child = locateMatchingChild(forPkg);
+            if (child != null) {
+                finestMatch = child.locateFinest(forPkg);
             }
         }
         return finestMatch;
     }
 
+    /**
+     * Finds the first child whose full package name is a prefix of a
+     * package by looking up the prefixes of the lengths of the children
+     * names instead of testing every child.
+     * @param forPkg the package to search for.
+     * @return the first matching child, or null if none matches.
+     */
+    private PkgControl locateMatchingChild(final String forPkg) {
+        PkgControl result = null;
+        int resultIndex = Integer.MAX_VALUE;
+        for (final int length : childPackageLengths) {
+            if (length > forPkg.length()) {
+                break;
+            }
+            final PkgControl child =
+                childrenByPackage.get(forPkg.substring(0, length));
+            if (child != null) {
+                if (result == null) {
+                    result = child;
+                }
+                else {
+                    if (resultIndex == Integer.MAX_VALUE) {
+                        resultIndex = children.indexOf(result);
+                    }
+                    final int childIndex = children.indexOf(child);
+                    if (childIndex < resultIndex) {
+                        result = child;
+                        resultIndex = childIndex;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns whether a package is allowed to be used. The algorithm checks
      * with the current node for a result, and if none is found then calls
@@ -136,16 +218,58 @@ class PkgControl {
      */
     private AccessResult localCheckAccess(final String forImport,
         final String inPkg) {
-        for (Guard g : guards) {
-            // Check if a Guard is only meant to be applied locally.
-            if (g.isLocalOnly() && !fullPackage.equals(inPkg)) {
-                continue;
+        AccessResult result = AccessResult.UNKNOWN;
+        int resultRank = -1;
+        // Only the guards that can match the import are checked, the one
+        // added last among the guards with a result decides.
+        for (final List<Guard> candidates : getCandidateGuards(forImport)) {
+            for (final Guard g : candidates) {
+                final int rank = guardRanks.get(g);
+                if (rank < resultRank) {
+                    break;
+                }
+                // Check if a Guard is only meant to be applied locally.
+                if (g.isLocalOnly() && !fullPackage.equals(inPkg)) {
+                    continue;
+                }
+                final AccessResult guardResult = g.verifyImport(forImport);
+                if (guardResult != AccessResult.UNKNOWN) {
+                    result = guardResult;
+                    resultRank = rank;
+                    break;
+                }
             }
-            final AccessResult result = g.verifyImport(forImport);
-            if (result != AccessResult.UNKNOWN) {
-                return result;
+        }
+        return result;
+    }
+
+    /**
+     * Collects the lists of guards that may control access to an import:
+     * the guards for its class name, for the packages enclosing it and the
+     * guards using regular expressions.
+     * @param forImport the package to check.
+     * @return the lists of guards to check.
+     */
+    private List<List<Guard>> getCandidateGuards(final String forImport) {
+        final List<List<Guard>> result = Lists.newArrayList();
+        final List<Guard> forClass = classGuards.get(forImport);
+        if (forClass != null) {
+            result.add(forClass);
+        }
+        if (!packageGuards.isEmpty()) {
+            int dot = forImport.indexOf('.');
+            while (dot >= 0) {
+                final List<Guard> forPackage =
+                    packageGuards.get(forImport.substring(0, dot));
+                if (forPackage != null) {
+                    result.add(forPackage);
+                }
+                dot = forImport.indexOf('.', dot + 1);
             }
         }
-        return AccessResult.UNKNOWN;
+        if (!regExpGuards.isEmpty()) {
+            result.add(regExpGuards);
+        }
+        return result;
     }
 }
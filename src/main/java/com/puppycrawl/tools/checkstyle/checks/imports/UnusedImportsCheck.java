@@ -32,6 +32,7 @@ import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TextBlock;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocModel;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocTag;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
@@ -224,29 +225,30 @@ public class UnusedImportsCheck extends Check {
         final int lineNo = ast.getLineNo();
         final TextBlock textBlock = contents.getJavadocBefore(lineNo);
         if (textBlock != null) {
-            referenced.addAll(collectReferencesFromJavadoc(textBlock));
+            referenced.addAll(collectReferencesFromJavadoc(
+                    contents.getJavadocModel(textBlock)));
         }
     }
 
     /**
      * Process a javadoc {@link TextBlock} and return the set of classes
      * referenced within.
-     * @param textBlock The javadoc block to parse
+     * @param javadoc The model of the javadoc block to parse
      * @return a set of classes referenced in the javadoc block
      */
-    private static Set<String> collectReferencesFromJavadoc(TextBlock textBlock) {
+    private static Set<String> collectReferencesFromJavadoc(JavadocModel javadoc) {
         final Set<String> references = new HashSet<>();
         // process all the @link type tags
         // INLINE tags inside BLOCKs get hidden when using ALL
         for (final JavadocTag tag
-                : getValidTags(textBlock, JavadocUtils.JavadocTagType.INLINE)) {
+                : getValidTags(javadoc, JavadocUtils.JavadocTagType.INLINE)) {
             if (tag.canReferenceImports()) {
                 references.addAll(processJavadocTag(tag));
             }
         }
         // process all the @throws type tags
         for (final JavadocTag tag
-                : getValidTags(textBlock, JavadocUtils.JavadocTagType.BLOCK)) {
+                : getValidTags(javadoc, JavadocUtils.JavadocTagType.BLOCK)) {
             if (tag.canReferenceImports()) {
                 references.addAll(
                         matchPattern(tag.getFirstArg(), FIRST_CLASS_NAME));
@@ -257,13 +259,13 @@ public class UnusedImportsCheck extends Check {
 
     /**
      * Returns the list of valid tags found in a javadoc {@link TextBlock}.
-     * @param cmt The javadoc block to parse
+     * @param javadoc The model of the javadoc block to parse
      * @param tagType The type of tags we're interested in
      * @return the list of tags
      */
-    private static List<JavadocTag> getValidTags(TextBlock cmt,
+    private static List<JavadocTag> getValidTags(JavadocModel javadoc,
             JavadocUtils.JavadocTagType tagType) {
-        return JavadocUtils.getJavadocTags(cmt, tagType).getValidTags();
+        return javadoc.getTags(tagType).getValidTags();
     }
 
     /**
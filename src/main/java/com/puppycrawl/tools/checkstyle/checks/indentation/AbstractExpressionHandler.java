@@ -235,8 +235,18 @@ public abstract class AbstractExpressionHandler {
      * @return the start of the line for the given expression
      */
     protected final int getLineStart(DetailAST ast) {
-        final String line = indentCheck.getLine(ast.getLineNo() - 1);
-        return getLineStart(line);
+        return getLineStart(ast.getLineNo());
+    }
+
+    /**
+     * Get the start of the line with the given number.
+     *
+     * @param lineNo   the one based number of the line
+     *
+     * @return the start of the line
+     */
+    private int getLineStart(int lineNo) {
+        return indentCheck.getLineStarts().getLineStart(lineNo);
     }
 
     /**
@@ -308,7 +318,7 @@ public abstract class AbstractExpressionHandler {
         final int startCol = lines.firstLineCol();
 
         final int realStartCol =
-            getLineStart(indentCheck.getLine(startLine - 1));
+            getLineStart(startLine);
 
         if (realStartCol == startCol) {
             checkSingleLine(startLine, startCol, indentLevel,
@@ -347,8 +357,7 @@ public abstract class AbstractExpressionHandler {
      * @param indentLevel   the required indent level
      */
     private void checkSingleLine(int lineNum, IndentLevel indentLevel) {
-        final String line = indentCheck.getLine(lineNum - 1);
-        final int start = getLineStart(line);
+        final int start = getLineStart(lineNum);
         if (indentLevel.isGreaterThan(start)) {
             logChildError(lineNum, start, indentLevel);
         }
@@ -365,8 +374,7 @@ public abstract class AbstractExpressionHandler {
 
     private void checkSingleLine(int lineNum, int colNum,
         IndentLevel indentLevel, boolean mustMatch) {
-        final String line = indentCheck.getLine(lineNum - 1);
-        final int start = getLineStart(line);
+        final int start = getLineStart(lineNum);
         // if must match is set, it is an error if the line start is not
         // at the correct indention level; otherwise, it is an only an
         // error if this statement starts the line and it is less than
@@ -421,7 +429,7 @@ public abstract class AbstractExpressionHandler {
         final int firstLine = getFirstLine(Integer.MAX_VALUE, tree);
         if (firstLineMatches && !allowNesting) {
             subtreeLines.addLineAndCol(firstLine,
-                getLineStart(indentCheck.getLine(firstLine - 1)));
+                getLineStart(firstLine));
         }
         findSubtreeLines(subtreeLines, tree, allowNesting);
 
@@ -462,11 +470,8 @@ public abstract class AbstractExpressionHandler {
      * @return the column number for the start of the expression
      */
     protected final int expandedTabsColumnNo(DetailAST ast) {
-        final String line =
-            indentCheck.getLine(ast.getLineNo() - 1);
-
-        return CommonUtils.lengthExpandedTabs(line, ast.getColumnNo(),
-            indentCheck.getIndentationTabWidth());
+        return indentCheck.getLineStarts().getExpandedColumnNo(ast.getLineNo(),
+            ast.getColumnNo());
     }
 
     /**
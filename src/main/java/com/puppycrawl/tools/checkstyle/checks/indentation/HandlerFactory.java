@@ -19,63 +19,288 @@
 
 package com.puppycrawl.tools.checkstyle.checks.indentation;
 
-import java.lang.reflect.Constructor;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 
 import com.google.common.collect.Maps;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
-import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 /**
- * Factory for handlers. Looks up constructor via reflection.
+ * Factory for handlers. Looks up the creator of handlers by token type.
  *
  * @author jrichard
  */
 public class HandlerFactory {
+    /** Creates CaseHandler instances. */
+    private static final HandlerCreator CASE = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new CaseHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates SwitchHandler instances. */
+    private static final HandlerCreator SWITCH = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new SwitchHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates SlistHandler instances. */
+    private static final HandlerCreator SLIST = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new SlistHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates PackageDefHandler instances. */
+    private static final HandlerCreator PACKAGE_DEF = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new PackageDefHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates ElseHandler instances. */
+    private static final HandlerCreator ELSE = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new ElseHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates IfHandler instances. */
+    private static final HandlerCreator IF = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new IfHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates TryHandler instances. */
+    private static final HandlerCreator TRY = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new TryHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates CatchHandler instances. */
+    private static final HandlerCreator CATCH = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new CatchHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates FinallyHandler instances. */
+    private static final HandlerCreator FINALLY = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new FinallyHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates DoWhileHandler instances. */
+    private static final HandlerCreator DO_WHILE = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new DoWhileHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates WhileHandler instances. */
+    private static final HandlerCreator WHILE = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new WhileHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates ForHandler instances. */
+    private static final HandlerCreator FOR = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new ForHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates MethodDefHandler instances. */
+    private static final HandlerCreator METHOD_DEF = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new MethodDefHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates ClassDefHandler instances. */
+    private static final HandlerCreator CLASS_DEF = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new ClassDefHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates ObjectBlockHandler instances. */
+    private static final HandlerCreator OBJECT_BLOCK = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new ObjectBlockHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates ImportHandler instances. */
+    private static final HandlerCreator IMPORT = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new ImportHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates ArrayInitHandler instances. */
+    private static final HandlerCreator ARRAY_INIT = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new ArrayInitHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates MethodCallHandler instances. */
+    private static final HandlerCreator METHOD_CALL = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new MethodCallHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates LabelHandler instances. */
+    private static final HandlerCreator LABEL = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new LabelHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates StaticInitHandler instances. */
+    private static final HandlerCreator STATIC_INIT = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new StaticInitHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates MemberDefHandler instances. */
+    private static final HandlerCreator MEMBER_DEF = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new MemberDefHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates NewHandler instances. */
+    private static final HandlerCreator NEW = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new NewHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates IndexHandler instances. */
+    private static final HandlerCreator INDEX = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new IndexHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates SynchronizedHandler instances. */
+    private static final HandlerCreator SYNCHRONIZED = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new SynchronizedHandler(indentCheck, ast, parent);
+        }
+    };
+
+    /** Creates LambdaHandler instances. */
+    private static final HandlerCreator LAMBDA = new HandlerCreator() {
+        @Override
+        public AbstractExpressionHandler create(IndentationCheck indentCheck,
+                DetailAST ast, AbstractExpressionHandler parent) {
+            return new LambdaHandler(indentCheck, ast, parent);
+        }
+    };
+
     /**
-     * Registered handlers.
+     * Registered handler creators, indexed by token type.
      */
-    private final Map<Integer, Constructor<?>> typeHandlers =
-        Maps.newHashMap();
+    private HandlerCreator[] typeHandlers = new HandlerCreator[0];
 
-    /** Cache for created method call handlers. */
+    /**
+     * Handlers created ahead of the visit of their AST, removed when the
+     * AST is visited.
+     */
     private final Map<DetailAST, AbstractExpressionHandler> createdHandlers =
         Maps.newHashMap();
 
     /** Creates a HandlerFactory. */
     public HandlerFactory() {
-        register(TokenTypes.CASE_GROUP, CaseHandler.class);
-        register(TokenTypes.LITERAL_SWITCH, SwitchHandler.class);
-        register(TokenTypes.SLIST, SlistHandler.class);
-        register(TokenTypes.PACKAGE_DEF, PackageDefHandler.class);
-        register(TokenTypes.LITERAL_ELSE, ElseHandler.class);
-        register(TokenTypes.LITERAL_IF, IfHandler.class);
-        register(TokenTypes.LITERAL_TRY, TryHandler.class);
-        register(TokenTypes.LITERAL_CATCH, CatchHandler.class);
-        register(TokenTypes.LITERAL_FINALLY, FinallyHandler.class);
-        register(TokenTypes.LITERAL_DO, DoWhileHandler.class);
-        register(TokenTypes.LITERAL_WHILE, WhileHandler.class);
-        register(TokenTypes.LITERAL_FOR, ForHandler.class);
-        register(TokenTypes.METHOD_DEF, MethodDefHandler.class);
-        register(TokenTypes.CTOR_DEF, MethodDefHandler.class);
-        register(TokenTypes.CLASS_DEF, ClassDefHandler.class);
-        register(TokenTypes.ENUM_DEF, ClassDefHandler.class);
-        register(TokenTypes.OBJBLOCK, ObjectBlockHandler.class);
-        register(TokenTypes.INTERFACE_DEF, ClassDefHandler.class);
-        register(TokenTypes.IMPORT, ImportHandler.class);
-        register(TokenTypes.ARRAY_INIT, ArrayInitHandler.class);
-        register(TokenTypes.METHOD_CALL, MethodCallHandler.class);
-        register(TokenTypes.CTOR_CALL, MethodCallHandler.class);
-        register(TokenTypes.LABELED_STAT, LabelHandler.class);
-        register(TokenTypes.STATIC_INIT, StaticInitHandler.class);
-        register(TokenTypes.INSTANCE_INIT, SlistHandler.class);
-        register(TokenTypes.VARIABLE_DEF, MemberDefHandler.class);
-        register(TokenTypes.LITERAL_NEW, NewHandler.class);
-        register(TokenTypes.INDEX_OP, IndexHandler.class);
-        register(TokenTypes.LITERAL_SYNCHRONIZED, SynchronizedHandler.class);
-        register(TokenTypes.LAMBDA, LambdaHandler.class);
+        register(TokenTypes.CASE_GROUP, CASE);
+        register(TokenTypes.LITERAL_SWITCH, SWITCH);
+        register(TokenTypes.SLIST, SLIST);
+        register(TokenTypes.PACKAGE_DEF, PACKAGE_DEF);
+        register(TokenTypes.LITERAL_ELSE, ELSE);
+        register(TokenTypes.LITERAL_IF, IF);
+        register(TokenTypes.LITERAL_TRY, TRY);
+        register(TokenTypes.LITERAL_CATCH, CATCH);
+        register(TokenTypes.LITERAL_FINALLY, FINALLY);
+        register(TokenTypes.LITERAL_DO, DO_WHILE);
+        register(TokenTypes.LITERAL_WHILE, WHILE);
+        register(TokenTypes.LITERAL_FOR, FOR);
+        register(TokenTypes.METHOD_DEF, METHOD_DEF);
+        register(TokenTypes.CTOR_DEF, METHOD_DEF);
+        register(TokenTypes.CLASS_DEF, CLASS_DEF);
+        register(TokenTypes.ENUM_DEF, CLASS_DEF);
+        register(TokenTypes.OBJBLOCK, OBJECT_BLOCK);
+        register(TokenTypes.INTERFACE_DEF, CLASS_DEF);
+        register(TokenTypes.IMPORT, IMPORT);
+        register(TokenTypes.ARRAY_INIT, ARRAY_INIT);
+        register(TokenTypes.METHOD_CALL, METHOD_CALL);
+        register(TokenTypes.CTOR_CALL, METHOD_CALL);
+        register(TokenTypes.LABELED_STAT, LABEL);
+        register(TokenTypes.STATIC_INIT, STATIC_INIT);
+        register(TokenTypes.INSTANCE_INIT, SLIST);
+        register(TokenTypes.VARIABLE_DEF, MEMBER_DEF);
+        register(TokenTypes.LITERAL_NEW, NEW);
+        register(TokenTypes.INDEX_OP, INDEX);
+        register(TokenTypes.LITERAL_SYNCHRONIZED, SYNCHRONIZED);
+        register(TokenTypes.LAMBDA, LAMBDA);
     }
 
     /**
@@ -83,18 +308,14 @@ public class HandlerFactory {
      *
      * @param type
      *                type from TokenTypes
-     * @param handlerClass
-     *                the handler to register
+     * @param handlerCreator
+     *                the creator of the handler to register
      */
-    private void register(int type, Class<?> handlerClass) {
-        final Constructor<?> ctor = CommonUtils.getConstructor(handlerClass,
-                IndentationCheck.class,
-                // current AST
-                DetailAST.class,
-                // parent
-                AbstractExpressionHandler.class
-        );
-        typeHandlers.put(type, ctor);
+    private void register(int type, HandlerCreator handlerCreator) {
+        if (type >= typeHandlers.length) {
+            typeHandlers = Arrays.copyOf(typeHandlers, type + 1);
+        }
+        typeHandlers[type] = handlerCreator;
     }
 
     /**
@@ -104,8 +325,7 @@ public class HandlerFactory {
      * @return true if handler is registered, false otherwise
      */
     public boolean isHandledType(int type) {
-        final Set<Integer> typeSet = typeHandlers.keySet();
-        return typeSet.contains(type);
+        return type >= 0 && type < typeHandlers.length && typeHandlers[type] != null;
     }
 
     /**
@@ -114,12 +334,19 @@ public class HandlerFactory {
      * @return int[] of TokenType types
      */
     public int[] getHandledTypes() {
-        final Set<Integer> typeSet = typeHandlers.keySet();
-        final int[] types = new int[typeSet.size()];
+        int count = 0;
+        for (final HandlerCreator creator : typeHandlers) {
+            if (creator != null) {
+                count++;
+            }
+        }
+        final int[] types = new int[count];
         int index = 0;
-        for (final Integer val : typeSet) {
-            types[index] = val;
-            index++;
+        for (int type = 0; type < typeHandlers.length; type++) {
+            if (typeHandlers[type] != null) {
+                types[index] = type;
+                index++;
+            }
         }
 
         return types;
@@ -138,7 +365,7 @@ public class HandlerFactory {
         DetailAST ast, AbstractExpressionHandler parent) {
         AbstractExpressionHandler resultHandler;
         final AbstractExpressionHandler handler =
-            createdHandlers.get(ast);
+            createdHandlers.remove(ast);
         if (handler != null) {
             resultHandler = handler;
         }
@@ -146,9 +373,7 @@ public class HandlerFactory {
             resultHandler = createMethodCallHandler(indentCheck, ast, parent);
         }
         else {
-            final Constructor<?> handlerCtor = typeHandlers.get(ast.getType());
-            resultHandler = (AbstractExpressionHandler) CommonUtils.invokeConstructor(
-                handlerCtor, indentCheck, ast, parent);
+            resultHandler = typeHandlers[ast.getType()].create(indentCheck, ast, parent);
         }
         return resultHandler;
     }
@@ -180,4 +405,19 @@ public class HandlerFactory {
     void clearCreatedHandlers() {
         createdHandlers.clear();
     }
+
+    /** Creates the handler for an AST. */
+    private interface HandlerCreator {
+        /**
+         * Creates a new handler.
+         *
+         * @param indentCheck   the indentation check
+         * @param ast           ast to handle
+         * @param parent        the handler parent of this AST
+         *
+         * @return the new handler
+         */
+        AbstractExpressionHandler create(IndentationCheck indentCheck,
+            DetailAST ast, AbstractExpressionHandler parent);
+    }
 }
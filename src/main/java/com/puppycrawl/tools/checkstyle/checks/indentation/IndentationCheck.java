@@ -114,6 +114,9 @@ public class IndentationCheck extends Check {
     /** Factory from which handlers are distributed. */
     private final HandlerFactory handlerFactory = new HandlerFactory();
 
+    /** Tab expanded columns of the lines of the current file. */
+    private LineStarts lineStarts;
+
     /**
      * Get forcing strict condition.
      * @return forceStrictCondition value.
@@ -277,6 +280,7 @@ public class IndentationCheck extends Check {
 
     @Override
     public void beginTree(DetailAST ast) {
+        lineStarts = new LineStarts(getLineList(), getIndentationTabWidth());
         handlerFactory.clearCreatedHandlers();
         handlers.clear();
         final PrimordialHandler primordialHandler = new PrimordialHandler(this);
@@ -297,6 +301,15 @@ public class IndentationCheck extends Check {
         handlers.pop();
     }
 
+    /**
+     * Returns the tab expanded columns of the lines of the current file.
+     *
+     * @return the line starts of the current file
+     */
+    final LineStarts getLineStarts() {
+        return lineStarts;
+    }
+
     /**
      * Accessor for the handler factory.
      *
@@ -0,0 +1,104 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.indentation;
+
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Tab expanded columns of the lines of a file: the column each line starts
+ * at and the index of the first tab of each line, so that columns of lines
+ * without tabs before them need not be expanded.
+ *
+ * @author the original author or authors.
+ */
+final class LineStarts {
+    /** The lines of the file. */
+    private final List<String> lines;
+
+    /** The width of a tab. */
+    private final int tabWidth;
+
+    /** Tab expanded column of the first non whitespace character of each line. */
+    private final int[] starts;
+
+    /** Index of the first tab of each line, the line length if there is none. */
+    private final int[] firstTabs;
+
+    /**
+     * Computes the table for the lines of a file.
+     * @param lines the lines of the file
+     * @param tabWidth the width of a tab
+     */
+    LineStarts(List<String> lines, int tabWidth) {
+        this.lines = lines;
+        this.tabWidth = tabWidth;
+        starts = new int[lines.size()];
+        firstTabs = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            final String line = lines.get(i);
+            int firstTab = line.indexOf('\t');
+            if (firstTab < 0) {
+                firstTab = line.length();
+            }
+            firstTabs[i] = firstTab;
+
+            int index = 0;
+            while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+                index++;
+            }
+            starts[i] = expand(i, index);
+        }
+    }
+
+    /**
+     * Returns the tab expanded column the given line starts at.
+     * @param lineNo the one based number of the line
+     * @return the column of the first non whitespace character
+     */
+    int getLineStart(int lineNo) {
+        return starts[lineNo - 1];
+    }
+
+    /**
+     * Returns the tab expanded column of a position.
+     * @param lineNo the one based number of the line
+     * @param columnNo the zero based index of the character in the line
+     * @return the tab expanded column
+     */
+    int getExpandedColumnNo(int lineNo, int columnNo) {
+        return expand(lineNo - 1, columnNo);
+    }
+
+    /**
+     * Expands the tabs before an index of a line.
+     * @param lineIndex the zero based index of the line
+     * @param index the index of the character in the line
+     * @return the tab expanded column
+     */
+    private int expand(int lineIndex, int index) {
+        int result = index;
+        if (index > firstTabs[lineIndex]) {
+            result = CommonUtils.lengthExpandedTabs(lines.get(lineIndex), index, tabWidth);
+        }
+        return result;
+    }
+}
@@ -19,7 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle.checks.javadoc;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
@@ -30,15 +33,20 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ErrorNode;
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.collect.Maps;
 import com.google.common.primitives.Ints;
 import com.puppycrawl.tools.checkstyle.api.Check;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.DetailNode;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.JavadocTokenTypes;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.grammars.javadoc.JavadocLexer;
@@ -75,21 +83,22 @@ public abstract class AbstractJavadocCheck extends Check {
         "javadoc.wrong.singleton.html.tag";
 
     /**
-     * Key is "line:column". Value is {@link DetailNode} tree. Map is stored in {@link ThreadLocal}
-     * to guarantee basic thread safety and avoid shared, mutable state when not necessary.
+     * Lexer and parser of the current thread, reused for all the Javadoc
+     * comments it parses.
      */
-    private static final ThreadLocal<Map<String, ParseStatus>> TREE_CACHE =
-        new ThreadLocal<Map<String, ParseStatus>>() {
+    private static final ThreadLocal<ParserPool> PARSER_POOL =
+        new ThreadLocal<ParserPool>() {
             @Override
-            protected Map<String, ParseStatus> initialValue() {
-                return new HashMap<>();
+            protected ParserPool initialValue() {
+                return new ParserPool();
             }
         };
 
     /**
-     * Custom error listener.
+     * Token types of the rule nodes of the parse tree, by the class of the
+     * node, to compute each type from the class name once.
      */
-    private DescriptiveErrorListener errorListener;
+    private static final Map<Class<?>, Integer> RULE_TOKEN_TYPES = Maps.newConcurrentMap();
 
     /**
      * DetailAST node of considered Javadoc comment that is just a block comment
@@ -156,33 +165,22 @@ public abstract class AbstractJavadocCheck extends Check {
         return true;
     }
 
-    @Override
-    public final void beginTree(DetailAST rootAST) {
-        TREE_CACHE.get().clear();
-    }
-
-    @Override
-    public final void finishTree(DetailAST rootAST) {
-        TREE_CACHE.get().clear();
-    }
-
     @Override
     public final void visitToken(DetailAST blockCommentNode) {
         if (JavadocUtils.isJavadocComment(blockCommentNode)) {
             // store as field, to share with child Checks
             blockCommentAst = blockCommentNode;
 
-            final String treeCacheKey = blockCommentNode.getLineNo() + ":"
-                    + blockCommentNode.getColumnNo();
-
-            ParseStatus ps;
+            // the parse result is kept with the comment in the file contents,
+            // so each comment is parsed once for all the checks of the walk
+            final FileContents contents = getFileContents();
+            final JavadocModel javadoc = contents.getJavadocModel(contents.getCComment(
+                    blockCommentNode.getLineNo(), blockCommentNode.getColumnNo()));
+            ParseStatus ps = javadoc.getParseStatus();
 
-            if (TREE_CACHE.get().containsKey(treeCacheKey)) {
-                ps = TREE_CACHE.get().get(treeCacheKey);
-            }
-            else {
+            if (ps == null) {
                 ps = parseJavadocAsDetailNode(blockCommentNode);
-                TREE_CACHE.get().put(treeCacheKey, ps);
+                javadoc.setParseStatus(ps);
             }
 
             if (ps.getParseErrorMessage() == null) {
@@ -212,32 +210,19 @@ public abstract class AbstractJavadocCheck extends Check {
      *        DetailAST of Javadoc comment
      * @return DetailNode tree of Javadoc comment
      */
-    private ParseStatus parseJavadocAsDetailNode(DetailAST javadocCommentAst) {
+    private static ParseStatus parseJavadocAsDetailNode(DetailAST javadocCommentAst) {
         final String javadocComment = JavadocUtils.getJavadocCommentContent(javadocCommentAst);
-
-        // Use a new error listener each time to be able to use
-        // one check instance for multiple files to be checked
-        // without getting side effects.
-        errorListener = new DescriptiveErrorListener();
-
-        // Log messages should have line number in scope of file,
-        // not in scope of Javadoc comment.
-        // Offset is line number of beginning of Javadoc comment.
-        errorListener.setOffset(javadocCommentAst.getLineNo() - 1);
-
+        final ParserPool parserPool = PARSER_POOL.get();
         final ParseStatus result = new ParseStatus();
 
         try {
-            final ParseTree parseTree = parseJavadocAsParseTree(javadocComment);
-
-            final DetailNode tree = convertParseTreeToDetailNode(parseTree);
-            result.setTree(tree);
+            result.setTree(parserPool.parse(javadocComment, javadocCommentAst.getLineNo()));
         }
         catch (ParseCancellationException e) {
             // If syntax error occurs then message is printed by error listener
             // and parser throws this runtime exception to stop parsing.
             // Just stop processing current Javadoc comment.
-            ParseErrorMessage parseErrorMessage = errorListener.getErrorMessage();
+            ParseErrorMessage parseErrorMessage = parserPool.getErrorMessage();
 
             // There are cases when antlr error listener does not handle syntax error
             if (parseErrorMessage == null) {
@@ -253,179 +238,21 @@ public abstract class AbstractJavadocCheck extends Check {
     }
 
     /**
-     * Converts ParseTree (that is generated by ANTLRv4) to DetailNode tree.
-     *
-     * @param parseTreeNode root node of ParseTree
-     * @return root of DetailNode tree
-     */
-    private DetailNode convertParseTreeToDetailNode(ParseTree parseTreeNode) {
-        final JavadocNodeImpl rootJavadocNode = createRootJavadocNode(parseTreeNode);
-
-        JavadocNodeImpl currentJavadocParent = rootJavadocNode;
-        ParseTree parseTreeParent = parseTreeNode;
-
-        while (currentJavadocParent != null) {
-            final JavadocNodeImpl[] children =
-                    (JavadocNodeImpl[]) currentJavadocParent.getChildren();
-
-            insertChildrenNodes(children, parseTreeParent);
-
-            if (children.length > 0) {
-                currentJavadocParent = children[0];
-                parseTreeParent = parseTreeParent.getChild(0);
-            }
-            else {
-                JavadocNodeImpl nextJavadocSibling = (JavadocNodeImpl) JavadocUtils
-                        .getNextSibling(currentJavadocParent);
-
-                ParseTree nextParseTreeSibling = getNextSibling(parseTreeParent);
-
-                if (nextJavadocSibling == null) {
-                    JavadocNodeImpl tempJavadocParent =
-                            (JavadocNodeImpl) currentJavadocParent.getParent();
-
-                    ParseTree tempParseTreeParent = parseTreeParent.getParent();
-
-                    while (nextJavadocSibling == null && tempJavadocParent != null) {
-
-                        nextJavadocSibling = (JavadocNodeImpl) JavadocUtils
-                                .getNextSibling(tempJavadocParent);
-
-                        nextParseTreeSibling = getNextSibling(tempParseTreeParent);
-
-                        tempJavadocParent = (JavadocNodeImpl) tempJavadocParent.getParent();
-                        tempParseTreeParent = tempParseTreeParent.getParent();
-                    }
-                }
-                currentJavadocParent = nextJavadocSibling;
-                parseTreeParent = nextParseTreeSibling;
-            }
-        }
-
-        return rootJavadocNode;
-    }
-
-    /**
-     * Creates child nodes for each node from 'nodes' array.
-     * @param parseTreeParent original ParseTree parent node
-     * @param nodes array of JavadocNodeImpl nodes
-     */
-    private void insertChildrenNodes(final JavadocNodeImpl[] nodes, ParseTree parseTreeParent) {
-        for (int i = 0; i < nodes.length; i++) {
-            final JavadocNodeImpl currentJavadocNode = nodes[i];
-            final ParseTree currentParseTreeNodeChild = parseTreeParent.getChild(i);
-            final JavadocNodeImpl[] subChildren =
-                    createChildrenNodes(currentJavadocNode, currentParseTreeNodeChild);
-            currentJavadocNode.setChildren(subChildren);
-        }
-    }
-
-    /**
-     * Creates children Javadoc nodes base on ParseTree node's children.
-     * @param parentJavadocNode node that will be parent for created children
-     * @param parseTreeNode original ParseTree node
-     * @return array of Javadoc nodes
-     */
-    private JavadocNodeImpl[]
-            createChildrenNodes(JavadocNodeImpl parentJavadocNode, ParseTree parseTreeNode) {
-        final JavadocNodeImpl[] children =
-                new JavadocNodeImpl[parseTreeNode.getChildCount()];
-
-        for (int j = 0; j < children.length; j++) {
-            final JavadocNodeImpl child =
-                    createJavadocNode(parseTreeNode.getChild(j), parentJavadocNode, j);
-
-            children[j] = child;
-        }
-        return children;
-    }
-
-    /**
-     * Creates root JavadocNodeImpl node base on ParseTree root node.
-     * @param parseTreeNode ParseTree root node
-     * @return root Javadoc node
-     */
-    private JavadocNodeImpl createRootJavadocNode(ParseTree parseTreeNode) {
-        final JavadocNodeImpl rootJavadocNode = createJavadocNode(parseTreeNode, null, -1);
-
-        final int childCount = parseTreeNode.getChildCount();
-        final JavadocNodeImpl[] children = new JavadocNodeImpl[childCount];
-
-        for (int i = 0; i < childCount; i++) {
-            final JavadocNodeImpl child = createJavadocNode(parseTreeNode.getChild(i),
-                    rootJavadocNode, i);
-            children[i] = child;
-        }
-        rootJavadocNode.setChildren(children);
-        return rootJavadocNode;
-    }
-
-    /**
-     * Creates JavadocNodeImpl node on base of ParseTree node.
-     *
-     * @param parseTree ParseTree node
-     * @param parent DetailNode that will be parent of new node
-     * @param index child index that has new node
-     * @return JavadocNodeImpl node on base of ParseTree node.
-     */
-    private JavadocNodeImpl createJavadocNode(ParseTree parseTree, DetailNode parent, int index) {
-        final JavadocNodeImpl node = new JavadocNodeImpl();
-        node.setText(parseTree.getText());
-        node.setColumnNumber(getColumn(parseTree));
-        node.setLineNumber(getLine(parseTree) + blockCommentAst.getLineNo());
-        node.setIndex(index);
-        node.setType(getTokenType(parseTree));
-        node.setParent(parent);
-        node.setChildren(new JavadocNodeImpl[parseTree.getChildCount()]);
-        return node;
-    }
-
-    /**
-     * Gets next sibling of ParseTree node.
-     * @param node ParseTree node
-     * @return next sibling of ParseTree node.
-     */
-    private static ParseTree getNextSibling(ParseTree node) {
-        ParseTree nextSibling = null;
-
-        if (node.getParent() != null) {
-            final ParseTree parent = node.getParent();
-            final int childCount = parent.getChildCount();
-
-            int index = 0;
-            while (true) {
-                final ParseTree currentNode = parent.getChild(index);
-                if (currentNode.equals(node)) {
-                    if (index != childCount - 1) {
-                        nextSibling = parent.getChild(index + 1);
-                    }
-                    break;
-                }
-                index++;
-            }
-        }
-        return nextSibling;
-    }
-
-    /**
-     * Gets token type of ParseTree node from JavadocTokenTypes class.
-     * @param node ParseTree node.
+     * Gets token type of a rule node from JavadocTokenTypes class.
+     * @param ruleContext the rule node.
      * @return token type from JavadocTokenTypes
      */
-    private static int getTokenType(ParseTree node) {
-        int tokenType;
-
-        if (node.getChildCount() == 0) {
-            tokenType = ((TerminalNode) node).getSymbol().getType();
-        }
-        else {
-            final String className = getNodeClassNameWithoutContext(node);
+    private static int getRuleTokenType(ParserRuleContext ruleContext) {
+        final Class<?> contextClass = ruleContext.getClass();
+        Integer ruleTokenType = RULE_TOKEN_TYPES.get(contextClass);
+        if (ruleTokenType == null) {
+            final String className = getNodeClassNameWithoutContext(ruleContext);
             final String typeName =
                     CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, className);
-            tokenType = JavadocUtils.getTokenId(typeName);
+            ruleTokenType = JavadocUtils.getTokenId(typeName);
+            RULE_TOKEN_TYPES.put(contextClass, ruleTokenType);
         }
-
-        return tokenType;
+        return ruleTokenType;
     }
 
     /**
@@ -442,72 +269,6 @@ public abstract class AbstractJavadocCheck extends Check {
         return className.substring(0, className.length() - contextLength);
     }
 
-    /**
-     * Gets line number from ParseTree node.
-     * @param tree
-     *        ParseTree node
-     * @return line number
-     */
-    private static int getLine(ParseTree tree) {
-        if (tree instanceof TerminalNode) {
-            return ((TerminalNode) tree).getSymbol().getLine() - 1;
-        }
-        else {
-            final ParserRuleContext rule = (ParserRuleContext) tree;
-            return rule.start.getLine() - 1;
-        }
-    }
-
-    /**
-     * Gets column number from ParseTree node.
-     * @param tree
-     *        ParseTree node
-     * @return column number
-     */
-    private static int getColumn(ParseTree tree) {
-        if (tree instanceof TerminalNode) {
-            return ((TerminalNode) tree).getSymbol().getCharPositionInLine();
-        }
-        else {
-            final ParserRuleContext rule = (ParserRuleContext) tree;
-            return rule.start.getCharPositionInLine();
-        }
-    }
-
-    /**
-     * Parses block comment content as javadoc comment.
-     * @param blockComment
-     *        block comment content.
-     * @return parse tree
-     */
-    private ParseTree parseJavadocAsParseTree(String blockComment) {
-        final ANTLRInputStream input = new ANTLRInputStream(blockComment);
-
-        final JavadocLexer lexer = new JavadocLexer(input);
-
-        // remove default error listeners
-        lexer.removeErrorListeners();
-
-        // add custom error listener that logs parsing errors
-        lexer.addErrorListener(errorListener);
-
-        final CommonTokenStream tokens = new CommonTokenStream(lexer);
-
-        final JavadocParser parser = new JavadocParser(tokens);
-
-        // remove default error listeners
-        parser.removeErrorListeners();
-
-        // add custom error listener that logs syntax errors
-        parser.addErrorListener(errorListener);
-
-        // This strategy stops parsing when parser error occurs.
-        // By default it uses Error Recover Strategy which is slow and useless.
-        parser.setErrorHandler(new BailErrorStrategy());
-
-        return parser.javadoc();
-    }
-
     /**
      * Processes JavadocAST tree notifying Check.
      * @param root
@@ -581,14 +342,15 @@ public abstract class AbstractJavadocCheck extends Check {
         }
 
         /**
-         * Sets offset. Offset is line number of beginning of the Javadoc
-         * comment. Log messages should have line number in scope of file, not
-         * in scope of Javadoc comment.
-         * @param offset
+         * Prepares the listener for the next comment. Offset is line number
+         * of beginning of the Javadoc comment. Log messages should have line
+         * number in scope of file, not in scope of Javadoc comment.
+         * @param lineOffset
          *        offset line number
          */
-        public void setOffset(int offset) {
-            this.offset = offset;
+        void reset(int lineOffset) {
+            offset = lineOffset;
+            errorMessage = null;
         }
 
         /**
@@ -633,11 +395,210 @@ public abstract class AbstractJavadocCheck extends Check {
         }
     }
 
+    /**
+     * Lexer and parser reused for the Javadoc comments parsed by a thread,
+     * as creating them for each comment is costly. The lexer clears its mode
+     * state when it gets new input, the parser clears its state when it gets
+     * a new token stream. The parser does not build a parse tree: a listener
+     * builds the DetailNode tree while the parser recognizes the comment.
+     */
+    private static final class ParserPool {
+        /** The lexer. */
+        private final JavadocLexer lexer = new JavadocLexer(null);
+
+        /** The token stream from the lexer to the parser. */
+        private final CommonTokenStream tokens = new CommonTokenStream(lexer);
+
+        /** The parser. */
+        private final JavadocParser parser = new JavadocParser(null);
+
+        /** The listener of the lexing and parsing errors. */
+        private final DescriptiveErrorListener errorListener = new DescriptiveErrorListener();
+
+        /** The listener building the DetailNode tree. */
+        private final DetailNodeBuilder treeBuilder = new DetailNodeBuilder();
+
+        /** Number of comments parsed again with full LL prediction. */
+        private int fullParseCount;
+
+        /** Creates the lexer and the parser. */
+        ParserPool() {
+            // replace default error listeners by the one that logs parsing errors
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(errorListener);
+            parser.removeErrorListeners();
+            parser.addErrorListener(errorListener);
+
+            // This strategy stops parsing when parser error occurs.
+            // By default it uses Error Recover Strategy which is slow and useless.
+            parser.setErrorHandler(new BailErrorStrategy());
+
+            parser.setBuildParseTree(false);
+            parser.addParseListener(treeBuilder);
+        }
+
+        /**
+         * Parses block comment content as javadoc comment. The comment is first
+         * parsed with the faster SLL prediction, which handles almost all
+         * comments. If that fails, the comment is parsed again with full LL
+         * prediction, so that the reported error, if any, is the one of a full
+         * parse.
+         * @param blockComment
+         *        block comment content.
+         * @param firstLine
+         *        line number of beginning of the Javadoc comment
+         * @return root of the DetailNode tree
+         * @throws ParseCancellationException if the comment has a syntax error,
+         *         the error is described by {@link #getErrorMessage()}
+         */
+        DetailNode parse(String blockComment, int firstLine) {
+            DetailNode tree;
+            try {
+                tree = parse(blockComment, firstLine, PredictionMode.SLL);
+            }
+            catch (ParseCancellationException ignored) {
+                fullParseCount++;
+                tree = parse(blockComment, firstLine, PredictionMode.LL);
+            }
+            return tree;
+        }
+
+        /**
+         * Getter for the error message of the last parse.
+         * @return error message, null if the parse did not report one
+         */
+        ParseErrorMessage getErrorMessage() {
+            return errorListener.getErrorMessage();
+        }
+
+        /**
+         * Parses block comment content as javadoc comment.
+         * @param blockComment
+         *        block comment content.
+         * @param firstLine
+         *        line number of beginning of the Javadoc comment
+         * @param predictionMode
+         *        prediction mode of the parser
+         * @return root of the DetailNode tree
+         */
+        private DetailNode parse(String blockComment, int firstLine,
+                PredictionMode predictionMode) {
+            errorListener.reset(firstLine - 1);
+            treeBuilder.reset(firstLine);
+
+            lexer.setInputStream(new ANTLRInputStream(blockComment));
+            tokens.setTokenSource(lexer);
+            parser.setTokenStream(tokens);
+            parser.getInterpreter().setPredictionMode(predictionMode);
+            parser.javadoc();
+
+            return treeBuilder.getRoot();
+        }
+    }
+
+    /**
+     * Builds the DetailNode tree of a Javadoc comment from the events of the
+     * parser, so that no parse tree is built and copied. Each node gets the
+     * type, text, position, parent and index that it has in the parse tree.
+     */
+    private static final class DetailNodeBuilder implements ParseTreeListener {
+        /** Nodes of the rules being parsed, innermost first. */
+        private final Deque<JavadocNodeImpl> openNodes = new ArrayDeque<>();
+
+        /** Children found so far of the rules being parsed, innermost first. */
+        private final Deque<List<JavadocNodeImpl>> openChildren = new ArrayDeque<>();
+
+        /** Line number of beginning of the Javadoc comment. */
+        private int firstLine;
+
+        /** Root of the tree built, null until the parse completes. */
+        private JavadocNodeImpl root;
+
+        /**
+         * Prepares the builder for the next comment.
+         * @param commentFirstLine line number of beginning of the Javadoc comment
+         */
+        void reset(int commentFirstLine) {
+            firstLine = commentFirstLine;
+            openNodes.clear();
+            openChildren.clear();
+            root = null;
+        }
+
+        /**
+         * Getter for the root of the tree built.
+         * @return root of the DetailNode tree
+         */
+        DetailNode getRoot() {
+            return root;
+        }
+
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            final JavadocNodeImpl node = createNode(ctx.getStart(), getRuleTokenType(ctx));
+            openNodes.push(node);
+            openChildren.push(new ArrayList<JavadocNodeImpl>());
+        }
+
+        @Override
+        public void exitEveryRule(ParserRuleContext ctx) {
+            final JavadocNodeImpl node = openNodes.pop();
+            final List<JavadocNodeImpl> children = openChildren.pop();
+            final StringBuilder text = new StringBuilder();
+            for (final JavadocNodeImpl child : children) {
+                text.append(child.getText());
+            }
+            node.setText(text.toString());
+            node.setChildren(children.toArray(new JavadocNodeImpl[children.size()]));
+            if (openNodes.isEmpty()) {
+                root = node;
+            }
+        }
+
+        @Override
+        public void visitTerminal(TerminalNode terminal) {
+            final Token token = terminal.getSymbol();
+            final JavadocNodeImpl node = createNode(token, token.getType());
+            node.setText(token.getText());
+            node.setChildren(new JavadocNodeImpl[0]);
+        }
+
+        @Override
+        public void visitErrorNode(ErrorNode errorNode) {
+            // No code, the parser stops at the first error instead of
+            // recovering with error nodes
+        }
+
+        /**
+         * Creates a node and adds it to the children of the innermost rule
+         * being parsed, if any.
+         * @param token the first token of the node
+         * @param type the token type of the node
+         * @return the new node
+         */
+        private JavadocNodeImpl createNode(Token token, int type) {
+            final JavadocNodeImpl node = new JavadocNodeImpl();
+            node.setType(type);
+            node.setLineNumber(token.getLine() - 1 + firstLine);
+            node.setColumnNumber(token.getCharPositionInLine());
+            if (openNodes.isEmpty()) {
+                node.setIndex(-1);
+            }
+            else {
+                final List<JavadocNodeImpl> siblings = openChildren.peek();
+                node.setParent(openNodes.peek());
+                node.setIndex(siblings.size());
+                siblings.add(node);
+            }
+            return node;
+        }
+    }
+
     /**
      * Contains result of parsing javadoc comment: DetailNode tree and parse
      * error message.
      */
-    private static class ParseStatus {
+    static class ParseStatus {
         /**
          * DetailNode tree (is null if parsing fails).
          */
@@ -99,33 +99,6 @@ public class JavadocMethodCheck extends AbstractTypeAwareCheck {
      */
     public static final String MSG_DUPLICATE_TAG = "javadoc.duplicateTag";
 
-    /** Compiled regexp to match Javadoc tags that take an argument. */
-    private static final Pattern MATCH_JAVADOC_ARG =
-            CommonUtils.createPattern("@(throws|exception|param)\\s+(\\S+)\\s+\\S*");
-
-    /** Compiled regexp to match first part of multilineJavadoc tags. */
-    private static final Pattern MATCH_JAVADOC_ARG_MULTILINE_START =
-            CommonUtils.createPattern("@(throws|exception|param)\\s+(\\S+)\\s*$");
-
-    /** Compiled regexp to look for a continuation of the comment. */
-    private static final Pattern MATCH_JAVADOC_MULTILINE_CONT =
-            CommonUtils.createPattern("(\\*/|@|[^\\s\\*])");
-
-    /** Multiline finished at end of comment. */
-    private static final String END_JAVADOC = "*/";
-    /** Multiline finished at next Javadoc. */
-    private static final String NEXT_TAG = "@";
-
-    /** Compiled regexp to match Javadoc tags with no argument. */
-    private static final Pattern MATCH_JAVADOC_NOARG =
-            CommonUtils.createPattern("@(return|see)\\s+\\S");
-    /** Compiled regexp to match first part of multilineJavadoc tags. */
-    private static final Pattern MATCH_JAVADOC_NOARG_MULTILINE_START =
-            CommonUtils.createPattern("@(return|see)\\s*$");
-    /** Compiled regexp to match Javadoc tags with no argument and {}. */
-    private static final Pattern MATCH_JAVADOC_NOARG_CURLY =
-            CommonUtils.createPattern("\\{\\s*@(inheritDoc)\\s*\\}");
-
     /** Default value of minimal amount of lines in method to demand documentation presence.*/
     private static final int DEFAULT_MIN_LINE_COUNT = -1;
 
@@ -475,7 +448,8 @@ public class JavadocMethodCheck extends AbstractTypeAwareCheck {
      * @param comment the Javadoc comment
      */
     private void checkComment(DetailAST ast, TextBlock comment) {
-        final List<JavadocTag> tags = getMethodTags(comment);
+        final List<JavadocTag> tags = Lists.newArrayList(
+                getFileContents().getJavadocModel(comment).getMethodTags());
 
         if (hasShortCircuitTag(ast, tags)) {
             return;
@@ -551,133 +525,6 @@ public class JavadocMethodCheck extends AbstractTypeAwareCheck {
         }
     }
 
-    /**
-     * Returns the tags in a javadoc comment. Only finds throws, exception,
-     * param, return and see tags.
-     *
-     * @param comment the Javadoc comment
-     * @return the tags found
-     */
-    private static List<JavadocTag> getMethodTags(TextBlock comment) {
-        final String[] lines = comment.getText();
-        final List<JavadocTag> tags = Lists.newArrayList();
-        int currentLine = comment.getStartLineNo() - 1;
-        final int startColumnNumber = comment.getStartColNo();
-
-        for (int i = 0; i < lines.length; i++) {
-            currentLine++;
-            final Matcher javadocArgMatcher =
-                MATCH_JAVADOC_ARG.matcher(lines[i]);
-            final Matcher javadocNoargMatcher =
-                MATCH_JAVADOC_NOARG.matcher(lines[i]);
-            final Matcher noargCurlyMatcher =
-                MATCH_JAVADOC_NOARG_CURLY.matcher(lines[i]);
-            final Matcher argMultilineStart =
-                MATCH_JAVADOC_ARG_MULTILINE_START.matcher(lines[i]);
-            final Matcher noargMultilineStart =
-                MATCH_JAVADOC_NOARG_MULTILINE_START.matcher(lines[i]);
-
-            if (javadocArgMatcher.find()) {
-                final int col = calculateTagColumn(javadocArgMatcher, i, startColumnNumber);
-                tags.add(new JavadocTag(currentLine, col, javadocArgMatcher.group(1),
-                        javadocArgMatcher.group(2)));
-            }
-            else if (javadocNoargMatcher.find()) {
-                final int col = calculateTagColumn(javadocNoargMatcher, i, startColumnNumber);
-                tags.add(new JavadocTag(currentLine, col, javadocNoargMatcher.group(1)));
-            }
-            else if (noargCurlyMatcher.find()) {
-                final int col = calculateTagColumn(noargCurlyMatcher, i, startColumnNumber);
-                tags.add(new JavadocTag(currentLine, col, noargCurlyMatcher.group(1)));
-            }
-            else if (argMultilineStart.find()) {
-                final int col = calculateTagColumn(argMultilineStart, i, startColumnNumber);
-                tags.addAll(getMultilineArgTags(argMultilineStart, col, lines, i, currentLine));
-            }
-            else if (noargMultilineStart.find()) {
-                tags.addAll(getMultilineNoArgTags(noargMultilineStart, lines, i, currentLine));
-            }
-        }
-        return tags;
-    }
-
-    /**
-     * Calculates column number using Javadoc tag matcher.
-     * @param javadocTagMatcher found javadoc tag matcher
-     * @param lineNumber line number of Javadoc tag in comment
-     * @param startColumnNumber column number of Javadoc comment beginning
-     * @return column number
-     */
-    private static int calculateTagColumn(Matcher javadocTagMatcher,
-            int lineNumber, int startColumnNumber) {
-        int col = javadocTagMatcher.start(1) - 1;
-        if (lineNumber == 0) {
-            col += startColumnNumber;
-        }
-        return col;
-    }
-
-    /**
-     * Gets multiline Javadoc tags with arguments.
-     * @param argMultilineStart javadoc tag Matcher
-     * @param column column number of Javadoc tag
-     * @param lines comment text lines
-     * @param lineIndex line number that contains the javadoc tag
-     * @param tagLine javadoc tag line number in file
-     * @return javadoc tags with arguments
-     */
-    private static List<JavadocTag> getMultilineArgTags(final Matcher argMultilineStart,
-            final int column, final String[] lines, final int lineIndex, final int tagLine) {
-        final List<JavadocTag> tags = new ArrayList<>();
-        final String param1 = argMultilineStart.group(1);
-        final String param2 = argMultilineStart.group(2);
-        int remIndex = lineIndex + 1;
-        while (remIndex < lines.length) {
-            final Matcher multilineCont = MATCH_JAVADOC_MULTILINE_CONT.matcher(lines[remIndex]);
-            if (multilineCont.find()) {
-                remIndex = lines.length;
-                final String lFin = multilineCont.group(1);
-                if (!lFin.equals(NEXT_TAG)
-                    && !lFin.equals(END_JAVADOC)) {
-                    tags.add(new JavadocTag(tagLine, column, param1, param2));
-                }
-            }
-            remIndex++;
-        }
-        return tags;
-    }
-
-    /**
-     * Gets multiline Javadoc tags with no arguments.
-     * @param noargMultilineStart javadoc tag Matcher
-     * @param lines comment text lines
-     * @param lineIndex line number that contains the javadoc tag
-     * @param tagLine javadoc tag line number in file
-     * @return javadoc tags with no arguments
-     */
-    private static List<JavadocTag> getMultilineNoArgTags(final Matcher noargMultilineStart,
-            final String[] lines, final int lineIndex, final int tagLine) {
-        final String param1 = noargMultilineStart.group(1);
-        final int col = noargMultilineStart.start(1) - 1;
-        final List<JavadocTag> tags = new ArrayList<>();
-        int remIndex = lineIndex + 1;
-        while (remIndex < lines.length) {
-            final Matcher multilineCont = MATCH_JAVADOC_MULTILINE_CONT
-                    .matcher(lines[remIndex]);
-            if (multilineCont.find()) {
-                remIndex = lines.length;
-                final String lFin = multilineCont.group(1);
-                if (!lFin.equals(NEXT_TAG)
-                    && !lFin.equals(END_JAVADOC)) {
-                    tags.add(new JavadocTag(tagLine, col, param1));
-                }
-            }
-            remIndex++;
-        }
-
-        return tags;
-    }
-
     /**
      * Computes the parameter nodes for a method.
      *
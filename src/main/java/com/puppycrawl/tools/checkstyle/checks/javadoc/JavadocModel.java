@@ -0,0 +1,291 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.javadoc;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.puppycrawl.tools.checkstyle.api.TextBlock;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+/**
+ * What the Javadoc checks know about one Javadoc comment: its block and
+ * inline tags, its method tags, its HTML tags and its DetailNode tree.
+ * Each part is extracted from the comment when it is first asked for and
+ * kept for the next check asking, so a comment is scanned or parsed once
+ * for each kind of information however many checks look at it. The models of a file are
+ * held by its {@link com.puppycrawl.tools.checkstyle.api.FileContents}.
+ *
+ * @author the original author or authors.
+ */
+public final class JavadocModel {
+    /** Compiled regexp to match Javadoc tags that take an argument. */
+    private static final Pattern MATCH_JAVADOC_ARG =
+            CommonUtils.createPattern("@(throws|exception|param)\\s+(\\S+)\\s+\\S*");
+
+    /** Compiled regexp to match first part of multilineJavadoc tags. */
+    private static final Pattern MATCH_JAVADOC_ARG_MULTILINE_START =
+            CommonUtils.createPattern("@(throws|exception|param)\\s+(\\S+)\\s*$");
+
+    /** Compiled regexp to look for a continuation of the comment. */
+    private static final Pattern MATCH_JAVADOC_MULTILINE_CONT =
+            CommonUtils.createPattern("(\\*/|@|[^\\s\\*])");
+
+    /** Multiline finished at end of comment. */
+    private static final String END_JAVADOC = "*/";
+    /** Multiline finished at next Javadoc. */
+    private static final String NEXT_TAG = "@";
+
+    /** Compiled regexp to match Javadoc tags with no argument. */
+    private static final Pattern MATCH_JAVADOC_NOARG =
+            CommonUtils.createPattern("@(return|see)\\s+\\S");
+    /** Compiled regexp to match first part of multilineJavadoc tags. */
+    private static final Pattern MATCH_JAVADOC_NOARG_MULTILINE_START =
+            CommonUtils.createPattern("@(return|see)\\s*$");
+    /** Compiled regexp to match Javadoc tags with no argument and {}. */
+    private static final Pattern MATCH_JAVADOC_NOARG_CURLY =
+            CommonUtils.createPattern("\\{\\s*@(inheritDoc)\\s*\\}");
+
+    /** The Javadoc comment. */
+    private final TextBlock comment;
+
+    /** The tags of the comment by tag type, for the types asked for so far. */
+    private final Map<JavadocUtils.JavadocTagType, JavadocTags> tags =
+            new EnumMap<>(JavadocUtils.JavadocTagType.class);
+
+    /** The method tags of the comment, null until asked for. */
+    private List<JavadocTag> methodTags;
+
+    /** The HTML tags of the comment, null until asked for. */
+    private List<HtmlTag> htmlTags;
+
+    /** The result of parsing the comment as a DetailNode tree, null until parsed. */
+    private AbstractJavadocCheck.ParseStatus parseStatus;
+
+    /**
+     * Creates the model of a Javadoc comment.
+     * @param comment the Javadoc comment
+     */
+    public JavadocModel(TextBlock comment) {
+        this.comment = comment;
+    }
+
+    /**
+     * Gets the Javadoc comment.
+     * @return the Javadoc comment
+     */
+    public TextBlock getComment() {
+        return comment;
+    }
+
+    /**
+     * Gets the tags of the comment, as found by
+     * {@link JavadocUtils#getJavadocTags(TextBlock, JavadocUtils.JavadocTagType)}.
+     * @param tagType the type of tags we're interested in
+     * @return the valid and invalid tags of the given type
+     */
+    public JavadocTags getTags(JavadocUtils.JavadocTagType tagType) {
+        JavadocTags result = tags.get(tagType);
+        if (result == null) {
+            result = JavadocUtils.getJavadocTags(comment, tagType);
+            tags.put(tagType, result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the tags of the comment that document a method. Only finds
+     * throws, exception, param, return and see tags, and inheritDoc inline
+     * tags.
+     * @return read-only list of the tags found
+     */
+    public List<JavadocTag> getMethodTags() {
+        if (methodTags == null) {
+            methodTags = ImmutableList.copyOf(findMethodTags(comment));
+        }
+        return methodTags;
+    }
+
+    /**
+     * Gets the HTML tags of the comment, in the order they appear.
+     * @return read-only list of the HTML tags found
+     */
+    List<HtmlTag> getHtmlTags() {
+        if (htmlTags == null) {
+            final List<HtmlTag> found = Lists.newArrayList();
+            final TagParser parser = new TagParser(comment.getText(),
+                    comment.getStartLineNo());
+            while (parser.hasNextTag()) {
+                found.add(parser.nextTag());
+            }
+            htmlTags = ImmutableList.copyOf(found);
+        }
+        return htmlTags;
+    }
+
+    /**
+     * Gets the result of parsing the comment as a DetailNode tree.
+     * @return the parse result, null if the comment has not been parsed
+     */
+    AbstractJavadocCheck.ParseStatus getParseStatus() {
+        return parseStatus;
+    }
+
+    /**
+     * Sets the result of parsing the comment as a DetailNode tree.
+     * @param parseStatus the parse result
+     */
+    void setParseStatus(AbstractJavadocCheck.ParseStatus parseStatus) {
+        this.parseStatus = parseStatus;
+    }
+
+    /**
+     * Returns the tags in a javadoc comment. Only finds throws, exception,
+     * param, return and see tags.
+     *
+     * @param comment the Javadoc comment
+     * @return the tags found
+     */
+    private static List<JavadocTag> findMethodTags(TextBlock comment) {
+        final String[] lines = comment.getText();
+        final List<JavadocTag> tags = Lists.newArrayList();
+        int currentLine = comment.getStartLineNo() - 1;
+        final int startColumnNumber = comment.getStartColNo();
+
+        for (int i = 0; i < lines.length; i++) {
+            currentLine++;
+            final Matcher javadocArgMatcher =
+                MATCH_JAVADOC_ARG.matcher(lines[i]);
+            final Matcher javadocNoargMatcher =
+                MATCH_JAVADOC_NOARG.matcher(lines[i]);
+            final Matcher noargCurlyMatcher =
+                MATCH_JAVADOC_NOARG_CURLY.matcher(lines[i]);
+            final Matcher argMultilineStart =
+                MATCH_JAVADOC_ARG_MULTILINE_START.matcher(lines[i]);
+            final Matcher noargMultilineStart =
+                MATCH_JAVADOC_NOARG_MULTILINE_START.matcher(lines[i]);
+
+            if (javadocArgMatcher.find()) {
+                final int col = calculateTagColumn(javadocArgMatcher, i, startColumnNumber);
+                tags.add(new JavadocTag(currentLine, col, javadocArgMatcher.group(1),
+                        javadocArgMatcher.group(2)));
+            }
+            else if (javadocNoargMatcher.find()) {
+                final int col = calculateTagColumn(javadocNoargMatcher, i, startColumnNumber);
+                tags.add(new JavadocTag(currentLine, col, javadocNoargMatcher.group(1)));
+            }
+            else if (noargCurlyMatcher.find()) {
+                final int col = calculateTagColumn(noargCurlyMatcher, i, startColumnNumber);
+                tags.add(new JavadocTag(currentLine, col, noargCurlyMatcher.group(1)));
+            }
+            else if (argMultilineStart.find()) {
+                final int col = calculateTagColumn(argMultilineStart, i, startColumnNumber);
+                tags.addAll(getMultilineArgTags(argMultilineStart, col, lines, i, currentLine));
+            }
+            else if (noargMultilineStart.find()) {
+                tags.addAll(getMultilineNoArgTags(noargMultilineStart, lines, i, currentLine));
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Calculates column number using Javadoc tag matcher.
+     * @param javadocTagMatcher found javadoc tag matcher
+     * @param lineNumber line number of Javadoc tag in comment
+     * @param startColumnNumber column number of Javadoc comment beginning
+     * @return column number
+     */
+    private static int calculateTagColumn(Matcher javadocTagMatcher,
+            int lineNumber, int startColumnNumber) {
+        int col = javadocTagMatcher.start(1) - 1;
+        if (lineNumber == 0) {
+            col += startColumnNumber;
+        }
+        return col;
+    }
+
+    /**
+     * Gets multiline Javadoc tags with arguments.
+     * @param argMultilineStart javadoc tag Matcher
+     * @param column column number of Javadoc tag
+     * @param lines comment text lines
+     * @param lineIndex line number that contains the javadoc tag
+     * @param tagLine javadoc tag line number in file
+     * @return javadoc tags with arguments
+     */
+    private static List<JavadocTag> getMultilineArgTags(final Matcher argMultilineStart,
+            final int column, final String[] lines, final int lineIndex, final int tagLine) {
+        final List<JavadocTag> tags = Lists.newArrayList();
+        final String param1 = argMultilineStart.group(1);
+        final String param2 = argMultilineStart.group(2);
+        int remIndex = lineIndex + 1;
+        while (remIndex < lines.length) {
+            final Matcher multilineCont = MATCH_JAVADOC_MULTILINE_CONT.matcher(lines[remIndex]);
+            if (multilineCont.find()) {
+                remIndex = lines.length;
+                final String lFin = multilineCont.group(1);
+                if (!lFin.equals(NEXT_TAG)
+                    && !lFin.equals(END_JAVADOC)) {
+                    tags.add(new JavadocTag(tagLine, column, param1, param2));
+                }
+            }
+            remIndex++;
+        }
+        return tags;
+    }
+
+    /**
+     * Gets multiline Javadoc tags with no arguments.
+     * @param noargMultilineStart javadoc tag Matcher
+     * @param lines comment text lines
+     * @param lineIndex line number that contains the javadoc tag
+     * @param tagLine javadoc tag line number in file
+     * @return javadoc tags with no arguments
+     */
+    private static List<JavadocTag> getMultilineNoArgTags(final Matcher noargMultilineStart,
+            final String[] lines, final int lineIndex, final int tagLine) {
+        final String param1 = noargMultilineStart.group(1);
+        final int col = noargMultilineStart.start(1) - 1;
+        final List<JavadocTag> tags = Lists.newArrayList();
+        int remIndex = lineIndex + 1;
+        while (remIndex < lines.length) {
+            final Matcher multilineCont = MATCH_JAVADOC_MULTILINE_CONT
+                    .matcher(lines[remIndex]);
+            if (multilineCont.find()) {
+                remIndex = lines.length;
+                final String lFin = multilineCont.group(1);
+                if (!lFin.equals(NEXT_TAG)
+                    && !lFin.equals(END_JAVADOC)) {
+                    tags.add(new JavadocTag(tagLine, col, param1));
+                }
+            }
+            remIndex++;
+        }
+
+        return tags;
+    }
+}
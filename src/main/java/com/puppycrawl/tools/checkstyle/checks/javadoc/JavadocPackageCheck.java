@@ -65,6 +65,15 @@ public class JavadocPackageCheck extends AbstractFileSetCheck {
         directoriesChecked.clear();
     }
 
+    /**
+     * Results depend on the other files of the package directory, so the check runs on every file.
+     * @return false
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
     @Override
     protected void processFiltered(File file, List<String> lines) {
         // Check if already processed directory
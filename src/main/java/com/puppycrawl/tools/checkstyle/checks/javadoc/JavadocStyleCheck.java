@@ -343,11 +343,9 @@ public class JavadocStyleCheck
         final Deque<HtmlTag> htmlStack = new ArrayDeque<>();
         final String[] text = comment.getText();
 
-        final TagParser parser = new TagParser(text, lineNo);
-
-        while (parser.hasNextTag()) {
-            final HtmlTag tag = parser.nextTag();
+        final List<HtmlTag> tags = getFileContents().getJavadocModel(comment).getHtmlTags();
 
+        for (final HtmlTag tag : tags) {
             if (tag.isIncompleteTag()) {
                 log(tag.getLineNo(), INCOMPLETE_TAG,
                     text[tag.getLineNo() - lineNo]);
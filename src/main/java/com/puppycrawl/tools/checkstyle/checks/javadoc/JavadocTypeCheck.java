@@ -247,8 +247,8 @@ public class JavadocTypeCheck
      * @return all standalone tags from the given javadoc.
      */
     private List<JavadocTag> getJavadocTags(TextBlock textBlock) {
-        final JavadocTags tags = JavadocUtils.getJavadocTags(textBlock,
-            JavadocUtils.JavadocTagType.BLOCK);
+        final JavadocTags tags = getFileContents().getJavadocModel(textBlock)
+            .getTags(JavadocUtils.JavadocTagType.BLOCK);
         if (!allowUnknownTags) {
             for (final InvalidJavadocTag tag : tags.getInvalidTags()) {
                 log(tag.getLine(), tag.getCol(), UNKNOWN_TAG,
@@ -46,7 +46,12 @@ public class RegexpMultilineCheck extends AbstractFileSetCheck {
 
     @Override
     protected void processFiltered(File file, List<String> lines) {
-        detector.processLines(FileText.fromLines(file, lines));
+        processFiltered(file, FileText.fromLines(file, lines));
+    }
+
+    @Override
+    protected void processFiltered(File file, FileText fileText) {
+        detector.processLines(fileText);
     }
 
     /**
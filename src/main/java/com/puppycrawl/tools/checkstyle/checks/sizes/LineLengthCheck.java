@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.sizes;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -117,10 +118,10 @@ public class LineLengthCheck extends Check {
 
     @Override
     public void beginTree(DetailAST rootAST) {
-        final String[] lines = getLines();
-        for (int i = 0; i < lines.length; i++) {
+        final List<String> lines = getLineList();
+        for (int i = 0; i < lines.size(); i++) {
 
-            final String line = lines[i];
+            final String line = lines.get(i);
             final int realLength = CommonUtils.lengthExpandedTabs(
                 line, line.length(), getTabWidth());
 
@@ -75,7 +75,7 @@ abstract class AbstractParenPadCheck
      * @param ast the token representing a left parentheses
      */
     protected void processLeft(DetailAST ast) {
-        final String line = getLines()[ast.getLineNo() - 1];
+        final String line = getLine(ast.getLineNo() - 1);
         final int after = ast.getColumnNo() + 1;
         if (after < line.length()) {
             if (getAbstractOption() == PadOption.NOSPACE
@@ -95,7 +95,7 @@ abstract class AbstractParenPadCheck
      * @param ast the token representing a right parentheses
      */
     protected void processRight(DetailAST ast) {
-        final String line = getLines()[ast.getLineNo() - 1];
+        final String line = getLine(ast.getLineNo() - 1);
         final int before = ast.getColumnNo() - 1;
         if (before >= 0) {
             if (getAbstractOption() == PadOption.NOSPACE
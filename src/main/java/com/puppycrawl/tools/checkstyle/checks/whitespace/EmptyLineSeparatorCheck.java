@@ -319,7 +319,7 @@ public class EmptyLineSeparatorCheck extends Check {
         // 3 is the number of the pre-previous line because the numbering starts from zero.
         final int number = 3;
         if (lineNo >= number) {
-            final String prePreviousLine = getLines()[lineNo - number];
+            final String prePreviousLine = getLine(lineNo - number);
             result = prePreviousLine.trim().isEmpty();
         }
         return result;
@@ -377,7 +377,7 @@ public class EmptyLineSeparatorCheck extends Check {
             return false;
         }
         //  [lineNo - 2] is the number of the previous line because the numbering starts from zero.
-        final String lineBefore = getLines()[lineNo - 2];
+        final String lineBefore = getLine(lineNo - 2);
         return lineBefore.trim().isEmpty();
     }
 
@@ -23,6 +23,8 @@ import java.io.File;
 import java.util.List;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LineColumn;
 
 /**
  * Checks to see if a file contains a tab character.
@@ -63,6 +65,28 @@ public class FileTabCharacterCheck extends AbstractFileSetCheck {
         }
     }
 
+    @Override
+    protected void processFiltered(File file, FileText fileText) {
+        // search the full text, so that no string is created for lines
+        final String text = fileText.getFullText().toString();
+        int lastLineNo = 0;
+        int tabPosition = text.indexOf('\t');
+        while (tabPosition != -1) {
+            final LineColumn lineColumn = fileText.lineColumn(tabPosition);
+            if (lineColumn.getLine() != lastLineNo) {
+                lastLineNo = lineColumn.getLine();
+                if (eachLine) {
+                    log(lastLineNo, lineColumn.getColumn() + 1, CONTAINS_TAB);
+                }
+                else {
+                    log(lastLineNo, lineColumn.getColumn() + 1, FILE_CONTAINS_TAB);
+                    break;
+                }
+            }
+            tabPosition = text.indexOf('\t', tabPosition + 1);
+        }
+    }
+
     /**
      * Whether report on each line containing a tab.
      * @param eachLine Whether report on each line containing a tab.
@@ -134,7 +134,7 @@ public class SeparatorWrapCheck
         final String text = ast.getText();
         final int colNo = ast.getColumnNo();
         final int lineNo = ast.getLineNo();
-        final String currentLine = getLines()[lineNo - 1];
+        final String currentLine = getLine(lineNo - 1);
         final String substringAfterToken =
                 currentLine.substring(colNo + text.length()).trim();
         final String substringBeforeToken =
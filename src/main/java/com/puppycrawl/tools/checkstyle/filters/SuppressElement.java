@@ -41,12 +41,21 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
  */
 public class SuppressElement
     implements Filter {
+    /** Characters with a special meaning in regular expressions. */
+    private static final String REGEXP_METACHARACTERS = ".[]{}()*+?^$|";
+
     /** The regexp to match file names against. */
     private final Pattern fileRegexp;
 
     /** The pattern for file names. */
     private final String filePattern;
 
+    /**
+     * The text file names must contain, if the pattern for file names
+     * matches a plain text, null otherwise.
+     */
+    private final String fileText;
+
     /** The regexp to match check names against. */
     private Pattern checkRegexp;
 
@@ -77,6 +86,41 @@ public class SuppressElement
     public SuppressElement(String files) {
         filePattern = files;
         fileRegexp = Pattern.compile(files);
+        fileText = getPlainText(files);
+    }
+
+    /**
+     * Returns the text matched by a regular expression that consists of
+     * ordinary and escaped characters only.
+     * @param regexp the regular expression
+     * @return the text the expression matches, or null if the expression
+     *     contains any construct other than an ordinary or escaped character
+     */
+    private static String getPlainText(String regexp) {
+        final StringBuilder text = new StringBuilder(regexp.length());
+        boolean plain = true;
+        boolean escaped = false;
+        for (int i = 0; plain && i < regexp.length(); i++) {
+            final char chr = regexp.charAt(i);
+            if (escaped) {
+                // letters and digits escape character classes and quotes
+                plain = !Character.isLetterOrDigit(chr);
+                text.append(chr);
+                escaped = false;
+            }
+            else if (chr == '\\') {
+                escaped = true;
+            }
+            else {
+                plain = REGEXP_METACHARACTERS.indexOf(chr) == -1;
+                text.append(chr);
+            }
+        }
+        String result = null;
+        if (plain && !escaped) {
+            result = text.toString();
+        }
+        return result;
     }
 
     /**
@@ -134,9 +178,7 @@ public class SuppressElement
         }
 
         // reject if no line/column matching
-        return (lineFilter != null || columnFilter != null)
-                && (lineFilter == null || !lineFilter.accept(event.getLine()))
-                && (columnFilter == null || !columnFilter.accept(event.getColumn()));
+        return !isLineAndColumnMatching(event.getLine(), event.getColumn());
     }
 
     /**
@@ -146,10 +188,57 @@ public class SuppressElement
      */
     private boolean isFileNameAndModuleNotMatching(AuditEvent event) {
         return event.getFileName() == null
-                || !fileRegexp.matcher(event.getFileName()).find()
+                || !isFileNameMatching(event.getFileName())
                 || event.getLocalizedMessage() == null
-                || moduleId != null && !moduleId.equals(event.getModuleId())
-                || checkRegexp != null && !checkRegexp.matcher(event.getSourceName()).find();
+                || !isModuleIdMatching(event.getModuleId())
+                || !isCheckMatching(event.getSourceName());
+    }
+
+    /**
+     * Checks whether the file name matches the pattern for file names.
+     * @param fileName the name of the file
+     * @return true if the file name matches
+     */
+    boolean isFileNameMatching(String fileName) {
+        final boolean result;
+        if (fileText == null) {
+            result = fileRegexp.matcher(fileName).find();
+        }
+        else {
+            result = fileName.contains(fileText);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the module id matches the id of this filter.
+     * @param eventModuleId the id of the module that logged an event
+     * @return true if this filter has no module id or the ids are equal
+     */
+    boolean isModuleIdMatching(String eventModuleId) {
+        return moduleId == null || moduleId.equals(eventModuleId);
+    }
+
+    /**
+     * Checks whether the check name matches the pattern for check names.
+     * @param sourceName the name of the check that logged an event
+     * @return true if this filter has no check pattern or the name matches
+     */
+    boolean isCheckMatching(String sourceName) {
+        return checkRegexp == null || checkRegexp.matcher(sourceName).find();
+    }
+
+    /**
+     * Checks whether a position matches the line and column filters.
+     * @param line the line of an event
+     * @param column the column of an event
+     * @return true if there are no line and column filters, or if one
+     *     of them accepts the position
+     */
+    boolean isLineAndColumnMatching(int line, int column) {
+        return lineFilter == null && columnFilter == null
+                || lineFilter != null && lineFilter.accept(line)
+                || columnFilter != null && columnFilter.accept(column);
     }
 
     @Override
@@ -19,8 +19,12 @@
 
 package com.puppycrawl.tools.checkstyle.filters;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
@@ -32,6 +36,13 @@ import com.puppycrawl.tools.checkstyle.api.FilterSet;
  * This filter accepts AuditEvents according to file, check, line, and
  * column, as specified in a suppression file.
  * </p>
+ * <p>
+ * The events of a file are reported one after another, so the suppressions
+ * whose file pattern matches the name of the file are selected once per file,
+ * and the ones whose check pattern matches are selected once per check.
+ * Only the line and column filters of these candidates are evaluated
+ * for each event.
+ * </p>
  * @author Rick Giles
  */
 public class SuppressionFilter
@@ -40,6 +51,15 @@ public class SuppressionFilter
     /** Set of individual suppresses. */
     private FilterSet filters = new FilterSet();
 
+    /** The suppresses of the set. */
+    private List<SuppressElement> suppressElements = Lists.newArrayList();
+
+    /** The filters of the set which are not suppresses. */
+    private FilterSet otherFilters = new FilterSet();
+
+    /** The suppresses which match the file of the last event. */
+    private FileSuppressions fileSuppressions;
+
     /**
      * Loads the suppressions for a file.
      * @param fileName name of the suppressions file.
@@ -48,11 +68,46 @@ public class SuppressionFilter
     public void setFile(String fileName)
         throws CheckstyleException {
         filters = SuppressionsLoader.loadSuppressions(fileName);
+        suppressElements = Lists.newArrayList();
+        otherFilters = new FilterSet();
+        fileSuppressions = null;
+        for (final Filter filter : filters.getFilters()) {
+            if (filter instanceof SuppressElement) {
+                suppressElements.add((SuppressElement) filter);
+            }
+            else {
+                otherFilters.addFilter(filter);
+            }
+        }
     }
 
     @Override
     public boolean accept(AuditEvent event) {
-        return filters.accept(event);
+        boolean result = otherFilters.accept(event);
+        if (result && event.getFileName() != null && event.getLocalizedMessage() != null) {
+            for (final SuppressElement element : getCandidates(event)) {
+                if (element.isModuleIdMatching(event.getModuleId())
+                        && element.isLineAndColumnMatching(event.getLine(),
+                            event.getColumn())) {
+                    result = false;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the suppresses whose file and check patterns match an event.
+     * @param event the event
+     * @return the suppresses that may reject the event
+     */
+    private List<SuppressElement> getCandidates(AuditEvent event) {
+        if (fileSuppressions == null
+                || !fileSuppressions.fileName.equals(event.getFileName())) {
+            fileSuppressions = new FileSuppressions(event.getFileName(), suppressElements);
+        }
+        return fileSuppressions.getElements(event.getSourceName());
     }
 
     @Override
@@ -71,4 +126,49 @@ public class SuppressionFilter
     public int hashCode() {
         return Objects.hash(filters);
     }
+
+    /** The suppresses which match the name of a file. */
+    private static final class FileSuppressions {
+        /** The name of the file. */
+        private final String fileName;
+
+        /** The suppresses whose file pattern matches the name of the file. */
+        private final List<SuppressElement> elements = Lists.newArrayList();
+
+        /** The suppresses matching the file, by name of the check they match. */
+        private final Map<String, List<SuppressElement>> elementsByCheck = Maps.newHashMap();
+
+        /**
+         * Selects the suppresses which match a file.
+         * @param fileName the name of the file
+         * @param allElements all suppresses
+         */
+        FileSuppressions(String fileName, List<SuppressElement> allElements) {
+            this.fileName = fileName;
+            for (final SuppressElement element : allElements) {
+                if (element.isFileNameMatching(fileName)) {
+                    elements.add(element);
+                }
+            }
+        }
+
+        /**
+         * Gets the suppresses which match the file and a check.
+         * @param sourceName the name of the check
+         * @return the matching suppresses
+         */
+        List<SuppressElement> getElements(String sourceName) {
+            List<SuppressElement> result = elementsByCheck.get(sourceName);
+            if (result == null) {
+                result = Lists.newArrayList();
+                for (final SuppressElement element : elements) {
+                    if (element.isCheckMatching(sourceName)) {
+                        result.add(element);
+                    }
+                }
+                elementsByCheck.put(sourceName, result);
+            }
+            return result;
+        }
+    }
 }
@@ -52,6 +52,22 @@ public final class JavadocUtils {
     private static final String UNKNOWN_JAVADOC_TOKEN_ID_EXCEPTION_MESSAGE = "Unknown javadoc"
             + " token id. Given id: ";
 
+    /** Block tag on the first line of a Javadoc comment. */
+    private static final Pattern BLOCK_TAG_PATTERN_FIRST_LINE =
+            Pattern.compile("/\\*{2,}\\s*@(\\p{Alpha}+)\\s");
+
+    /** Block tag on the following lines of a Javadoc comment. */
+    private static final Pattern BLOCK_TAG_PATTERN_FOLLOWING_LINES =
+            Pattern.compile("^\\s*\\**\\s*@(\\p{Alpha}+)\\s");
+
+    /** Javadoc text after the comment characters of a line. */
+    private static final Pattern COMMENT_PATTERN =
+            Pattern.compile("^\\s*(?:/\\*{2,}|\\*+)\\s*(.*)");
+
+    /** Inline tag of a Javadoc comment. */
+    private static final Pattern INLINE_TAG_PATTERN =
+            Pattern.compile(".*?\\{@(\\p{Alpha}+)\\s+(.*?)\\}");
+
     // Using reflection gets all token names and values from JavadocTokenTypes class
     // and saves to TOKEN_NAME_TO_VALUE and TOKEN_VALUE_TO_NAME collections.
     static {
@@ -107,7 +123,7 @@ public final class JavadocUtils {
         final String[] text = textBlock.getText();
         final List<JavadocTag> tags = Lists.newArrayList();
         final List<InvalidJavadocTag> invalidTags = Lists.newArrayList();
-        Pattern blockTagPattern = Pattern.compile("/\\*{2,}\\s*@(\\p{Alpha}+)\\s");
+        Pattern blockTagPattern = BLOCK_TAG_PATTERN_FIRST_LINE;
         for (int i = 0; i < text.length; i++) {
             final String textValue = text[i];
             final Matcher blockTagMatcher = blockTagPattern.matcher(textValue);
@@ -133,9 +149,9 @@ public final class JavadocUtils {
             }
             // No block tag, so look for inline validTags
             else if (tagType == JavadocTagType.ALL || tagType == JavadocTagType.INLINE) {
-                lookForInlineTags(textBlock, i, tags, invalidTags);
+                lookForInlineTags(textBlock, text[i], i, tags, invalidTags);
             }
-            blockTagPattern = Pattern.compile("^\\s*\\**\\s*@(\\p{Alpha}+)\\s");
+            blockTagPattern = BLOCK_TAG_PATTERN_FOLLOWING_LINES;
         }
         return new JavadocTags(tags, invalidTags);
     }
@@ -143,16 +159,15 @@ public final class JavadocUtils {
     /**
      * Looks for inline tags in comment and adds them to the proper tags collection.
      * @param comment comment text block
+     * @param text the text of the line
      * @param lineNumber line number in the comment
      * @param validTags collection of valid tags
      * @param invalidTags collection of invalid tags
      */
-    private static void lookForInlineTags(TextBlock comment, int lineNumber,
+    private static void lookForInlineTags(TextBlock comment, String text, int lineNumber,
             final List<JavadocTag> validTags, final List<InvalidJavadocTag> invalidTags) {
-        final String text = comment.getText()[lineNumber];
         // Match Javadoc text after comment characters
-        final Pattern commentPattern = Pattern.compile("^\\s*(?:/\\*{2,}|\\*+)\\s*(.*)");
-        final Matcher commentMatcher = commentPattern.matcher(text);
+        final Matcher commentMatcher = COMMENT_PATTERN.matcher(text);
         final String commentContents;
 
         // offset including comment characters
@@ -167,8 +182,7 @@ public final class JavadocUtils {
             commentContents = text;
             commentOffset = 0;
         }
-        final Pattern tagPattern = Pattern.compile(".*?\\{@(\\p{Alpha}+)\\s+(.*?)\\}");
-        final Matcher tagMatcher = tagPattern.matcher(commentContents);
+        final Matcher tagMatcher = INLINE_TAG_PATTERN.matcher(commentContents);
         while (tagMatcher.find()) {
             final String tagName = tagMatcher.group(1);
             final String tagValue = tagMatcher.group(2).trim();
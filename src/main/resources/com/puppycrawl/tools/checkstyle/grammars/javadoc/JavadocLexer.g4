@@ -31,6 +31,21 @@ import java.util.*;
             }
       }
 
+      @Override
+      public void reset() {
+            super.reset();
+            recognizeXmlTags = true;
+            isJavadocTagAvailable = true;
+            insideJavadocInlineTag = 0;
+            insidePreTag = false;
+            referenceCatched = false;
+            insideReferenceArguments = false;
+            htmlTagNameCatched = false;
+            attributeCatched = false;
+            previousTokenType = 0;
+            previousToPreviousTokenType = 0;
+      }
+
       public void skipCurrentTokenConsuming() {
             _input.seek(_input.index() - 1);
       }
@@ -26,19 +26,39 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.SortedSet;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.google.common.collect.Sets;
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
+import com.puppycrawl.tools.checkstyle.checks.TodoCommentCheck;
+import com.puppycrawl.tools.checkstyle.checks.TranslationCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MethodNameCheck;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionCommentFilter;
 
 public class CheckerTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testDestroy() throws Exception {
         final DebugChecker checker = new DebugChecker();
@@ -275,4 +295,327 @@ public class CheckerTest {
             DebugAuditAdapter.class.getCanonicalName());
         checker.setupChild(config);
     }
+
+    @Test
+    public void testProcessConcurrently() throws Exception {
+        final List<File> files = new ArrayList<>();
+        final String[] inputs = {
+            "filters/InputSuppressionCommentFilter.java",
+            "filters/InputSuppressWithNearbyCommentFilter.java",
+            "checks/naming/InputMemberName.java",
+            "checks/naming/InputSimple.java",
+            "InputMain.java",
+        };
+        for (int i = 0; i < 3; i++) {
+            for (String input : inputs) {
+                files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                        + input));
+            }
+        }
+
+        final List<String> expected = auditConcurrently(files, 1, 0);
+        final List<String> actual = auditConcurrently(files, 4, 0);
+
+        assertTrue("Audit should log events", expected.size() > 2 * files.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testProcessWithAsyncListeners() throws Exception {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "checks/naming/InputMemberName.java"));
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "InputMain.java"));
+        }
+
+        final List<String> expected = auditConcurrently(files, 1, 0);
+
+        assertEquals(expected, auditConcurrently(files, 1, 2));
+        assertEquals(expected, auditConcurrently(files, 3, 2));
+    }
+
+    @Test
+    public void testProcessConcurrentlyMoreThanOnce() throws Exception {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "filters/InputSuppressionCommentFilter.java"));
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "checks/naming/InputMemberName.java"));
+        }
+        final List<String> expected = auditConcurrently(files, 1, 0);
+
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        final Checker checker = createConcurrentChecker(events);
+        // the replicas of the first audit are reused, one more is created
+        for (int threadCount : new int[] {3, 2, 4}) {
+            checker.setThreadCount(threadCount);
+            checker.process(files);
+            assertEquals(expected, events);
+            events.clear();
+        }
+        checker.destroy();
+    }
+
+    @Test
+    public void testProcessConcurrentlyWithAddedTreeWalkers() throws Exception {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "filters/InputSuppressionCommentFilter.java"));
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "checks/naming/InputMemberName.java"));
+            files.add(new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                    + "InputMain.java"));
+        }
+
+        final List<String> expected = auditWithAddedTreeWalkers(files, 1);
+        assertTrue("Added walkers should log events",
+                expected.toString().contains("to-do format"));
+        assertEquals(expected, auditWithAddedTreeWalkers(files, 4));
+    }
+
+    @Test
+    public void testCacheFile() throws Exception {
+        final String cacheFile = temporaryFolder.newFile().getPath();
+        final List<File> files = Collections.singletonList(
+                new File("src/test/resources/com/puppycrawl/tools/checkstyle/InputMain.java"));
+
+        final List<String> events = new ArrayList<>();
+        final CountingFileSetCheck check = new CountingFileSetCheck();
+        final Checker checker = createCachingChecker(cacheFile, check, events);
+        assertEquals(1, checker.process(files));
+        assertEquals(1, checker.process(files));
+        checker.destroy();
+        assertEquals(1, check.processedFiles);
+
+        final List<String> restoredEvents = new ArrayList<>();
+        final CountingFileSetCheck restoredCheck = new CountingFileSetCheck();
+        final Checker restoredChecker =
+                createCachingChecker(cacheFile, restoredCheck, restoredEvents);
+        assertEquals(1, restoredChecker.process(files));
+        restoredChecker.destroy();
+        assertEquals(0, restoredCheck.processedFiles);
+        assertEquals(events.subList(0, restoredEvents.size()), restoredEvents);
+    }
+
+    @Test
+    public void testTreeWalkerCacheFileWithSuppressionComments() throws Exception {
+        final List<File> files = Arrays.asList(
+                new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                        + "filters/InputSuppressionCommentFilter.java"),
+                new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                        + "checks/naming/InputMemberName.java"));
+        final List<String> expected = auditWithSuppressionComments(files, null, null);
+        assertFalse(expected.toString().contains("Name 'J'"));
+
+        final String cacheFile = temporaryFolder.newFile().getPath();
+        assertEquals(expected, auditWithSuppressionComments(files, cacheFile, null));
+        // the cache is warm now
+        assertEquals(expected, auditWithSuppressionComments(files, cacheFile, null));
+    }
+
+    @Test
+    public void testCacheFileWithSuppressionComments() throws Exception {
+        final List<File> files = Arrays.asList(
+                new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                        + "filters/InputSuppressionCommentFilter.java"),
+                new File("src/test/resources/com/puppycrawl/tools/checkstyle/"
+                        + "checks/naming/InputMemberName.java"));
+        final List<String> expected = auditWithSuppressionComments(files, null, null);
+
+        final String cacheFile = temporaryFolder.newFile().getPath();
+        assertEquals(expected, auditWithSuppressionComments(files, null, cacheFile));
+        // the cache is warm now
+        assertEquals(expected, auditWithSuppressionComments(files, null, cacheFile));
+    }
+
+    @Test
+    public void testCacheFileWithTranslationCheck() throws Exception {
+        final File folder = temporaryFolder.newFolder();
+        final File defaultTranslation = new File(folder, "messages.properties");
+        final File germanTranslation = new File(folder, "messages_de.properties");
+        Files.write(defaultTranslation.toPath(), "a=1\nb=2\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(germanTranslation.toPath(), "a=1\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Arrays.asList(defaultTranslation, germanTranslation);
+
+        final List<String> expected = auditWithTranslationCheck(files, null);
+        assertTrue(expected.toString().contains("Key 'b' missing."));
+
+        final String cacheFile = temporaryFolder.newFile().getPath();
+        assertEquals(expected, auditWithTranslationCheck(files, cacheFile));
+        // the cache is warm now
+        assertEquals(expected, auditWithTranslationCheck(files, cacheFile));
+    }
+
+    private static List<String> auditWithTranslationCheck(List<File> files,
+            String cacheFile) throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        if (cacheFile != null) {
+            checkerConfig.addAttribute("cacheFile", cacheFile);
+        }
+        checkerConfig.addChild(new DefaultConfiguration(TranslationCheck.class.getName()));
+        return audit(checkerConfig, files);
+    }
+
+    private static List<String> auditWithSuppressionComments(List<File> files,
+            String treeWalkerCacheFile, String checkerCacheFile) throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        if (checkerCacheFile != null) {
+            checkerConfig.addAttribute("cacheFile", checkerCacheFile);
+        }
+        final DefaultConfiguration treeWalkerConfig =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        if (treeWalkerCacheFile != null) {
+            treeWalkerConfig.addAttribute("cacheFile", treeWalkerCacheFile);
+        }
+        treeWalkerConfig.addChild(new DefaultConfiguration(FileContentsHolder.class.getName()));
+        treeWalkerConfig.addChild(new DefaultConfiguration(MemberNameCheck.class.getName()));
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(
+                new DefaultConfiguration(SuppressionCommentFilter.class.getName()));
+        return audit(checkerConfig, files);
+    }
+
+    private static List<String> audit(Configuration checkerConfig, List<File> files)
+            throws Exception {
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        final List<String> events = new ArrayList<>();
+        checker.addListener(new RecordingListener(events));
+        checker.process(files);
+        checker.destroy();
+        return events;
+    }
+
+    private static Checker createCachingChecker(String cacheFile, FileSetCheck check,
+            List<String> events) throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        checkerConfig.addAttribute("cacheFile", cacheFile);
+
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addFileSetCheck(check);
+        checker.addListener(new RecordingListener(events));
+        return checker;
+    }
+
+    private static List<String> auditConcurrently(List<File> files, int threadCount,
+            int auditEventQueueSize) throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        final Checker checker = createConcurrentChecker(events);
+        checker.setThreadCount(threadCount);
+        checker.setAuditEventQueueSize(auditEventQueueSize);
+        checker.process(files);
+        checker.destroy();
+        return events;
+    }
+
+    private static List<String> auditWithAddedTreeWalkers(List<File> files, int threadCount)
+            throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        final Checker checker = createConcurrentChecker(events);
+        // walkers that are not configured children of the checker are not
+        // replicated and audit the files on one thread at a time
+        final DefaultConfiguration todoCommentConfig =
+                new DefaultConfiguration(TodoCommentCheck.class.getName());
+        todoCommentConfig.addAttribute("format", "\\w");
+        checker.addFileSetCheck(createTreeWalker(todoCommentConfig));
+        checker.addFileSetCheck(createTreeWalker(
+                new DefaultConfiguration(MethodNameCheck.class.getName())));
+        checker.setThreadCount(threadCount);
+        checker.process(files);
+        checker.destroy();
+        return events;
+    }
+
+    private static TreeWalker createTreeWalker(Configuration checkConfig) throws Exception {
+        final DefaultConfiguration treeWalkerConfig =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalkerConfig.addChild(checkConfig);
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.setModuleFactory(new PackageObjectFactory(new HashSet<String>(),
+                Thread.currentThread().getContextClassLoader()));
+        treeWalker.configure(treeWalkerConfig);
+        return treeWalker;
+    }
+
+    private static Checker createConcurrentChecker(List<String> events) throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        final DefaultConfiguration treeWalkerConfig =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalkerConfig.addChild(new DefaultConfiguration(FileContentsHolder.class.getName()));
+        treeWalkerConfig.addChild(new DefaultConfiguration(MemberNameCheck.class.getName()));
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(
+                new DefaultConfiguration(SuppressionCommentFilter.class.getName()));
+
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(new RecordingListener(events));
+        return checker;
+    }
+
+    private static class CountingFileSetCheck extends AbstractFileSetCheck {
+        private int processedFiles;
+
+        @Override
+        protected void processFiltered(File file, List<String> lines) {
+            processedFiles++;
+            log(1, "processed");
+        }
+    }
+
+    private static class RecordingListener implements AuditListener {
+        private final List<String> events;
+
+        RecordingListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            events.add("auditStarted");
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            events.add("auditFinished");
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            events.add("fileStarted " + event.getFileName());
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            events.add("fileFinished " + event.getFileName());
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            events.add(event.getFileName() + ":" + event.getLine() + ":" + event.getColumn()
+                    + ": " + event.getMessage());
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            events.add("exception " + event.getFileName());
+        }
+    }
 }
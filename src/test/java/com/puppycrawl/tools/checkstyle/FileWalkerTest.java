@@ -0,0 +1,98 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Sets;
+
+public class FileWalkerTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWalkFiltersExtensions() throws IOException {
+        final File root = temporaryFolder.newFolder("root");
+        final File sub = new File(root, "sub");
+        assertTrue(sub.mkdir());
+        final File first = new File(root, "First.java");
+        final File second = new File(sub, "Second.java");
+        assertTrue(first.createNewFile());
+        assertTrue(second.createNewFile());
+        assertTrue(new File(sub, "notes.txt").createNewFile());
+
+        final Set<File> files = Sets.newHashSet();
+        for (File file : new FileWalker(new String[] {".java"}, root.getPath())) {
+            files.add(file.getAbsoluteFile());
+        }
+        assertEquals(Sets.newHashSet(first.getAbsoluteFile(), second.getAbsoluteFile()), files);
+    }
+
+    @Test
+    public void testWalkSingleFileAndMissingPath() throws IOException {
+        final File file = temporaryFolder.newFile("notes.txt");
+        final File missing = new File(temporaryFolder.getRoot(), "missing");
+
+        final Iterator<File> iterator =
+                new FileWalker(null, missing.getPath(), file.getPath()).iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals(file.getAbsoluteFile(), iterator.next().getAbsoluteFile());
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail("exception expected");
+        }
+        catch (NoSuchElementException ignored) {
+            // expected
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemove() throws IOException {
+        final File file = temporaryFolder.newFile("notes.txt");
+        new FileWalker(null, file.getPath()).iterator().remove();
+    }
+
+    @Test
+    public void testContainsFiles() throws IOException {
+        final File empty = temporaryFolder.newFolder("empty");
+        final File missing = new File(temporaryFolder.getRoot(), "missing");
+        assertFalse(FileWalker.containsFiles(empty.getPath(), missing.getPath()));
+
+        final File folder = temporaryFolder.newFolder("folder");
+        assertTrue(new File(folder, "Input.java").createNewFile());
+        assertTrue(new File(folder, "Input2.java").createNewFile());
+        assertTrue(FileWalker.containsFiles(empty.getPath(), folder.getPath()));
+    }
+}
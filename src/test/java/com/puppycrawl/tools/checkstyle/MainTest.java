@@ -23,14 +23,11 @@ import static com.puppycrawl.tools.checkstyle.TestUtils.assertUtilsClassHasPriva
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
-import static org.powermock.api.mockito.PowerMockito.mock;
-import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -97,6 +94,7 @@ public class MainTest {
                     + " -f <arg>   Sets the output format. (plain|xml). Defaults to plain%n"
                     + " -o <arg>   Sets the output file. Defaults to stdout%n"
                     + " -p <arg>   Loads the properties file%n"
+                    + " -t <arg>   Sets the number of auditing threads. Defaults to 1%n"
                     + " -v         Print product version and exit%n");
 
                 assertEquals(usage, systemOut.getLog());
@@ -169,6 +167,22 @@ public class MainTest {
                 getPath("InputMain.java"));
     }
 
+    @Test
+    public void testInvalidThreadCount() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(new Assertion() {
+            @Override
+            public void checkAssertion() {
+                assertEquals(String.format(Locale.ROOT, "Invalid number of threads. "
+                        + "Found 'many' but expected a positive integer.%n"),
+                        systemOut.getLog());
+                assertEquals("", systemErr.getLog());
+            }
+        });
+        Main.main("-c", "/google_checks.xml", "-t", "many",
+                getPath("InputMain.java"));
+    }
+
     @Test
     public void testNonExistingClass() throws Exception {
         exit.expectSystemExitWithStatus(-2);
@@ -549,32 +563,21 @@ public class MainTest {
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    public void testListFilesNotFile() throws Exception {
-        final Method method = Main.class.getDeclaredMethod("listFiles", File.class);
-        method.setAccessible(true);
-
-        final File fileMock = mock(File.class);
-        when(fileMock.canRead()).thenReturn(true);
-        when(fileMock.isDirectory()).thenReturn(false);
-        when(fileMock.isFile()).thenReturn(false);
-
-        final List<File> result = (List<File>) method.invoke(null, fileMock);
-        assertEquals(0, result.size());
-    }
-
-    @Test
-    @SuppressWarnings("unchecked")
-    public void testListFilesDirectoryWithNull() throws Exception {
-        final Method method = Main.class.getDeclaredMethod("listFiles", File.class);
-        method.setAccessible(true);
-
-        final File fileMock = mock(File.class);
-        when(fileMock.canRead()).thenReturn(true);
-        when(fileMock.isDirectory()).thenReturn(true);
-        when(fileMock.listFiles()).thenReturn(null);
+    public void testExistingDirectoryWithViolationsInParallel() throws Exception {
+        exit.checkAssertionAfterwards(new Assertion() {
+            @Override public void checkAssertion() throws IOException {
+                final String expectedPath = getFilePath("checks/metrics") + File.separator;
+                final String line = String.format(Locale.ROOT, "%s.java:1: warning: "
+                        + "File length is 172 lines (max allowed is 170).",
+                        expectedPath + "InputComplexityOverflow");
+                assertEquals("Starting audit..." + System.lineSeparator()
+                        + line + System.lineSeparator()
+                        + "Audit done." + System.lineSeparator(), systemOut.getLog());
+                assertEquals("", systemErr.getLog());
+            }
+        });
 
-        final List<File> result = (List<File>) method.invoke(null, fileMock);
-        assertEquals(0, result.size());
+        Main.main("-c", getPath("config-filelength.xml"), "-t", "3",
+            getPath("checks/metrics"));
     }
 }
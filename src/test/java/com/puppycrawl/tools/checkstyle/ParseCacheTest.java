@@ -0,0 +1,85 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class ParseCacheTest {
+    private static FileText createText() {
+        return FileText.fromLines(new File("Input.java"), Arrays.asList(
+                "// header",
+                "class Input {",
+                "    /* field */ int field;",
+                "}"));
+    }
+
+    @Test
+    public void testParsesOnce() throws Exception {
+        final ParseCache cache = new ParseCache();
+        final FileText text = createText();
+        final DetailAST rootAST = cache.getAST(text);
+        assertSame(rootAST, cache.getAST(text));
+        assertSame(cache.getContents(text), cache.getContents(text));
+        assertEquals(1, cache.getContents(text).getCppComments().size());
+    }
+
+    @Test
+    public void testCommentNodesAreAddedToCopy() throws Exception {
+        final ParseCache cache = new ParseCache();
+        final FileText text = createText();
+        final DetailAST rootAST = cache.getAST(text);
+        final DetailAST withComments = cache.getASTWithComments(text);
+
+        assertSame(withComments, cache.getASTWithComments(text));
+        assertSame(rootAST, cache.getAST(text));
+        assertNotSame(rootAST, withComments);
+        assertEquals(TokenTypes.CLASS_DEF, withComments.getType());
+        assertTrue(withComments.branchContains(TokenTypes.SINGLE_LINE_COMMENT));
+        assertTrue(withComments.branchContains(TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertTrue(withComments.branchContains(TokenTypes.VARIABLE_DEF));
+        assertFalse(rootAST.branchContains(TokenTypes.SINGLE_LINE_COMMENT));
+        assertFalse(rootAST.branchContains(TokenTypes.BLOCK_COMMENT_BEGIN));
+    }
+
+    @Test
+    public void testOtherTextIsParsed() throws Exception {
+        final ParseCache cache = new ParseCache();
+        final DetailAST rootAST = cache.getAST(createText());
+        assertNotSame(rootAST, cache.getAST(createText()));
+
+        final FileText text = createText();
+        final DetailAST cached = cache.getAST(text);
+        cache.clear();
+        assertNotSame(cached, cache.getAST(text));
+    }
+}
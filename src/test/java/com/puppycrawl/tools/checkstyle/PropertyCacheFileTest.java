@@ -21,18 +21,29 @@ package com.puppycrawl.tools.checkstyle;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.security.MessageDigest;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.util.SortedSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -41,7 +52,11 @@ import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.google.common.collect.Sets;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({ PropertyCacheFile.class, PropertyCacheFileTest.class })
@@ -82,10 +97,169 @@ public class PropertyCacheFileTest {
         final Configuration config = new DefaultConfiguration("myName");
         final String filePath = temporaryFolder.newFile().getPath();
         final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
-        cache.put("myFile", 1);
-        assertTrue(cache.isInCache("myFile", 1));
-        assertFalse(cache.isInCache("myFile", 2));
-        assertFalse(cache.isInCache("myFile1", 1));
+        final SortedSet<LocalizedMessage> noMessages = Sets.newTreeSet();
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        put(cache, file, noMessages);
+        assertEquals(noMessages, cache.get(file));
+        assertNull(cache.get(temporaryFolder.newFile("myFile1")));
+
+        writeFile(file, "bc");
+        assertNull(cache.get(file));
+    }
+
+    @Test
+    public void testInCacheAfterTouch() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        final SortedSet<LocalizedMessage> noMessages = Sets.newTreeSet();
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        put(cache, file, noMessages);
+        assertTrue(file.setLastModified(file.lastModified() - 10000));
+        assertEquals(noMessages, cache.get(file));
+    }
+
+    @Test
+    public void testMessagesInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        final LocalizedMessage message = new LocalizedMessage(1, 2, "messages",
+            "key", new Object[] {"arg"}, SeverityLevel.WARNING, null,
+            PropertyCacheFileTest.class, null);
+        final SortedSet<LocalizedMessage> messages = Sets.newTreeSet();
+        messages.add(message);
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        put(cache, file, messages);
+        cache.persist();
+
+        final PropertyCacheFile restoredCache = new PropertyCacheFile(config, filePath);
+        restoredCache.load();
+        final SortedSet<LocalizedMessage> restored = restoredCache.get(file);
+        assertEquals(1, restored.size());
+        final LocalizedMessage restoredMessage = restored.first();
+        assertEquals(message.getLineNo(), restoredMessage.getLineNo());
+        assertEquals(message.getColumnNo(), restoredMessage.getColumnNo());
+        assertEquals(message.getKey(), restoredMessage.getKey());
+        assertEquals(message.getSeverityLevel(), restoredMessage.getSeverityLevel());
+    }
+
+    @Test
+    public void testChangeInConfig() throws IOException {
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache =
+            new PropertyCacheFile(new DefaultConfiguration("myName"), filePath);
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        put(cache, file, Sets.<LocalizedMessage>newTreeSet());
+        cache.persist();
+
+        final PropertyCacheFile restoredCache =
+            new PropertyCacheFile(new DefaultConfiguration("otherName"), filePath);
+        restoredCache.load();
+        assertNull(restoredCache.get(file));
+    }
+
+    @Test
+    public void testLoadFileInOtherFormat() throws IOException {
+        final File cacheFile = temporaryFolder.newFile();
+        writeFile(cacheFile, "#Thu Jan 01 00:00:00 UTC 2015\nconfiguration*?=ABC\n");
+        final PropertyCacheFile cache =
+            new PropertyCacheFile(new DefaultConfiguration("myName"), cacheFile.getPath());
+        cache.load();
+        assertNull(cache.get(cacheFile));
+    }
+
+    @Test
+    public void testLoadTruncatedFile() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = temporaryFolder.newFile();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, cacheFile.getPath());
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        put(cache, file, createMessages("arg"));
+        cache.persist();
+
+        try (final RandomAccessFile raf = new RandomAccessFile(cacheFile, "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+        final PropertyCacheFile restoredCache =
+            new PropertyCacheFile(config, cacheFile.getPath());
+        restoredCache.load();
+        assertNull(restoredCache.get(file));
+    }
+
+    @Test
+    public void testClassDescriptorWrittenOnce() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = temporaryFolder.newFile();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, cacheFile.getPath());
+        final File firstFile = temporaryFolder.newFile("myFile");
+        writeFile(firstFile, "a");
+        put(cache, firstFile, createMessages("first"));
+        final File secondFile = temporaryFolder.newFile("myFile1");
+        writeFile(secondFile, "b");
+        put(cache, secondFile, createMessages("second"));
+        cache.persist();
+
+        final String contents = new String(Files.readAllBytes(cacheFile.toPath()),
+            StandardCharsets.ISO_8859_1);
+        // the name of LocalizedMessage, not followed by that of a nested class
+        final Matcher matcher = Pattern.compile(
+            Pattern.quote(LocalizedMessage.class.getName()) + "[^$]").matcher(contents);
+        assertTrue(matcher.find());
+        assertFalse(matcher.find());
+
+        final PropertyCacheFile restoredCache =
+            new PropertyCacheFile(config, cacheFile.getPath());
+        restoredCache.load();
+        assertEquals(1, restoredCache.get(firstFile).size());
+        assertEquals(1, restoredCache.get(secondFile).size());
+    }
+
+    @Test
+    public void testUnserializableArgument() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = temporaryFolder.newFile();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, cacheFile.getPath());
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        put(cache, file, createMessages("arg"));
+        final File otherFile = temporaryFolder.newFile("myFile1");
+        writeFile(otherFile, "b");
+        put(cache, otherFile, createMessages(new Object()));
+        cache.persist();
+        assertNull(cache.get(otherFile));
+
+        final PropertyCacheFile restoredCache =
+            new PropertyCacheFile(config, cacheFile.getPath());
+        restoredCache.load();
+        assertEquals(1, restoredCache.get(file).size());
+        assertNull(restoredCache.get(otherFile));
+    }
+
+    @Test
+    public void testDigestOfCheckedText() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        final SortedSet<LocalizedMessage> noMessages = Sets.newTreeSet();
+        final File file = temporaryFolder.newFile("myFile");
+        writeFile(file, "a");
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final FileText checkedText = new FileText(file, "UTF-8");
+
+        // the file changes after it was read, the checked text is recorded
+        writeFile(file, "bc");
+        cache.put(file, lastModified, length, checkedText, noMessages);
+        assertNull(cache.get(file));
+        writeFile(file, "a");
+        assertTrue(file.setLastModified(lastModified - 10000));
+        assertEquals(noMessages, cache.get(file));
     }
 
     @Test
@@ -95,7 +269,7 @@ public class PropertyCacheFileTest {
         final Configuration config = new DefaultConfiguration("myName");
         final String filePath = temporaryFolder.newFile().getPath();
         final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
-        cache.put("myFile", 1);
+        put(cache, temporaryFolder.newFile("myFile"), Sets.<LocalizedMessage>newTreeSet());
         mockStatic(MessageDigest.class);
 
         when(MessageDigest.getInstance("SHA-1"))
@@ -114,4 +288,24 @@ public class PropertyCacheFileTest {
             assertEquals("Unable to calculate hashcode.", e.getCause().getMessage());
         }
     }
+
+    private static SortedSet<LocalizedMessage> createMessages(Object arg) {
+        final SortedSet<LocalizedMessage> messages = Sets.newTreeSet();
+        messages.add(new LocalizedMessage(1, 2, "messages", "key", new Object[] {arg},
+            SeverityLevel.WARNING, null, PropertyCacheFileTest.class, null));
+        return messages;
+    }
+
+    private static void put(PropertyCacheFile cache, File file,
+            SortedSet<LocalizedMessage> messages) throws IOException {
+        cache.put(file, file.lastModified(), file.length(), new FileText(file, "UTF-8"),
+            messages);
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        try (final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write(content);
+        }
+    }
 }
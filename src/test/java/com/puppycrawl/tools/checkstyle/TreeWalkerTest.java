@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -41,11 +42,13 @@ import org.junit.rules.TemporaryFolder;
 
 import com.puppycrawl.tools.checkstyle.api.Check;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocPackageCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.TypeNameCheck;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
 
 public class TreeWalkerTest extends BaseCheckTestSupport {
     @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
@@ -183,6 +186,42 @@ public class TreeWalkerTest extends BaseCheckTestSupport {
         verify(checker, pathToEmptyFile, pathToEmptyFile, expected);
     }
 
+    @Test
+    public void testCacheFileReplaysViolations() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createCheckConfig(VisitCountingCheck.class);
+
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        treeWalkerConfig.addChild(checkConfig);
+
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addChild(treeWalkerConfig);
+
+        final Checker checker = new Checker();
+        final Locale locale = Locale.ROOT;
+        checker.setLocaleCountry(locale.getCountry());
+        checker.setLocaleLanguage(locale.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(new BriefLogger(stream));
+
+        final File file = temporaryFolder.newFile("file.java");
+        try (final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("public class Main { }");
+        }
+        final String[] expected = {
+            "1: visited 1",
+        };
+
+        verify(checker, file.getPath(), file.getPath(), expected);
+        // the file is not visited again, its violation comes from the cache
+        stream.reset();
+        verify(checker, file.getPath(), file.getPath(), expected);
+    }
+
     @Test
     public void testCacheFileChangeInConfig() throws Exception {
         final DefaultConfiguration checkConfig = createCheckConfig(HiddenFieldCheck.class);
@@ -343,6 +382,118 @@ public class TreeWalkerTest extends BaseCheckTestSupport {
         }
     }
 
+    @Test
+    public void testCheckRegisteredTwiceForTokenIsVisitedOnce() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createCheckConfig(VisitCountingCheck.class);
+        checkConfig.addAttribute("tokens", "CLASS_DEF");
+        final File file = temporaryFolder.newFile("file.java");
+        try (final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("public class Main { }");
+        }
+        final String[] expected = {
+            "1: visited 1",
+        };
+        verify(checkConfig, file.getPath(), expected);
+    }
+
+    @Test
+    public void testCheckWithoutTokensIsNotifiedAboutTree() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createCheckConfig(TreeNotificationsCheck.class);
+        final File file = temporaryFolder.newFile("file.java");
+        try (final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("public class Main { }");
+        }
+        final String[] expected = {
+            "1: begin CLASS_DEF",
+            "1: finish CLASS_DEF",
+        };
+        verify(checkConfig, file.getPath(), expected);
+    }
+
+    @Test
+    public void testNoCommentNodesWithoutCommentChecks() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createCheckConfig(RootRecordingCheck.class);
+        final File file = temporaryFolder.newFile("file.java");
+        try (final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("// comment\npublic class Main { }");
+        }
+        verify(checkConfig, file.getPath(), ArrayUtils.EMPTY_STRING_ARRAY);
+        assertFalse(containsComment(RootRecordingCheck.root));
+    }
+
+    private static boolean containsComment(DetailAST ast) {
+        boolean result = false;
+        DetailAST node = ast;
+        while (!result && node != null) {
+            result = TokenUtils.isCommentType(node.getType())
+                || containsComment(node.getFirstChild());
+            node = node.getNextSibling();
+        }
+        return result;
+    }
+
+    private static class RootRecordingCheck extends Check {
+        private static DetailAST root;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return ArrayUtils.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            root = rootAST;
+        }
+    }
+
+    private static class TreeNotificationsCheck extends Check {
+        @Override
+        public int[] getDefaultTokens() {
+            return ArrayUtils.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            log(rootAST.getLineNo(), "begin " + TokenUtils.getTokenName(rootAST.getType()));
+        }
+
+        @Override
+        public void finishTree(DetailAST rootAST) {
+            log(rootAST.getLineNo(), "finish " + TokenUtils.getTokenName(rootAST.getType()));
+        }
+    }
+
+    private static class VisitCountingCheck extends Check {
+        private int visits;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getAcceptableTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return getAcceptableTokens();
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            visits++;
+            log(ast.getLineNo(), "visited " + visits);
+        }
+    }
+
     private static class BadJavaDocCheck extends Check {
         @Override
         public int[] getDefaultTokens() {
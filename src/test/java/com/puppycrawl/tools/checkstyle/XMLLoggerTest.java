@@ -36,6 +36,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.Test;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
@@ -197,6 +198,58 @@ public class XMLLoggerTest {
         verifyLines(expectedLines);
     }
 
+    @Test
+    public void testAddErrorsReusingBuffers() throws IOException {
+        final XMLLogger logger = new XMLLogger(outStream, true);
+        logger.auditStarted(null);
+        final String longText = Strings.repeat("a<b ", 600);
+        logger.addError(createErrorEvent(1, longText));
+        logger.addError(createErrorEvent(2, "\"x\" > 'y'"));
+        logger.auditFinished(null);
+        final String[] expectedLines = {
+            "<error line=\"1\" column=\"1\" severity=\"error\" message=\""
+                + Strings.repeat("a&lt;b ", 600) + "\""
+                + " source=\"com.puppycrawl.tools.checkstyle.XMLLoggerTest\"/>",
+            "<error line=\"2\" column=\"1\" severity=\"error\""
+                + " message=\"&quot;x&quot; &gt; &apos;y&apos;\""
+                + " source=\"com.puppycrawl.tools.checkstyle.XMLLoggerTest\"/>",
+        };
+        verifyLines(expectedLines);
+    }
+
+    @Test
+    public void testAddErrorWithReferences() throws IOException {
+        final XMLLogger logger = new XMLLogger(outStream, true);
+        logger.auditStarted(null);
+        logger.addError(createErrorEvent(1, "&lt; &#60; &#x3C; & &foo; &"));
+        logger.auditFinished(null);
+        final String[] expectedLines = {
+            "<error line=\"1\" column=\"1\" severity=\"error\""
+                + " message=\"&lt; &#60; &#x3C; &amp; &amp;foo; &amp;\""
+                + " source=\"com.puppycrawl.tools.checkstyle.XMLLoggerTest\"/>",
+        };
+        verifyLines(expectedLines);
+    }
+
+    @Test
+    public void testFlushOnAuditFinished() throws IOException {
+        final XMLLogger logger = new XMLLogger(outStream, false);
+        logger.auditStarted(null);
+        logger.fileStarted(new AuditEvent(this, "Test.java"));
+        logger.addError(createErrorEvent(1, "text"));
+        logger.fileFinished(new AuditEvent(this, "Test.java"));
+        assertEquals("output is buffered", 0, outStream.size());
+
+        logger.auditFinished(null);
+        final String[] expectedLines = {
+            "<file name=\"Test.java\">",
+            "<error line=\"1\" column=\"1\" severity=\"error\" message=\"text\""
+                + " source=\"com.puppycrawl.tools.checkstyle.XMLLoggerTest\"/>",
+            "</file>",
+        };
+        verifyLines(expectedLines);
+    }
+
     @Test
     public void testAddException()
         throws IOException {
@@ -218,6 +271,13 @@ public class XMLLoggerTest {
         verifyLines(expectedLines);
     }
 
+    private AuditEvent createErrorEvent(int line, String text) {
+        final LocalizedMessage message =
+            new LocalizedMessage(line, 1, "messages.properties", "key",
+                new Object[] {text}, SeverityLevel.ERROR, null, getClass(), "{0}");
+        return new AuditEvent(this, "Test.java", message);
+    }
+
     private String[] getOutStreamLines()
         throws IOException {
         final byte[] bytes = outStream.toByteArray();
@@ -0,0 +1,74 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+
+import org.junit.Test;
+
+public class AbstractFileSetCheckTest {
+    @Test
+    public void testProcessFileText() throws Exception {
+        final File file = new File("src/test/resources/com/puppycrawl/tools/"
+                + "checkstyle/InputMain.java");
+        final FileText fileText = new FileText(file, "UTF-8");
+        final RecordingFileSetCheck check = new RecordingFileSetCheck();
+        final SortedSet<LocalizedMessage> messages = check.process(file, fileText);
+
+        assertSame(fileText, check.processedText);
+        assertEquals(1, messages.size());
+        assertEquals("text", messages.first().getKey());
+    }
+
+    @Test
+    public void testProcessLines() throws Exception {
+        final File file = new File("any name");
+        final List<String> lines = Arrays.asList("a", "b");
+        final RecordingFileSetCheck check = new RecordingFileSetCheck();
+        final SortedSet<LocalizedMessage> messages = check.process(file, lines);
+
+        assertSame(lines, check.processedLines);
+        assertEquals(1, messages.size());
+        assertEquals("lines", messages.first().getKey());
+    }
+
+    private static class RecordingFileSetCheck extends AbstractFileSetCheck {
+        private List<String> processedLines;
+        private FileText processedText;
+
+        @Override
+        protected void processFiltered(File file, List<String> lines) {
+            processedLines = lines;
+            log(1, "lines");
+        }
+
+        @Override
+        protected void processFiltered(File file, FileText fileText) {
+            processedText = fileText;
+            log(1, "text");
+        }
+    }
+}
@@ -19,11 +19,17 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -55,4 +61,85 @@ public class FileContentsTest {
         assertTrue(o.hasIntersectionWithComment(1, 5, 1, 6));
 
     }
+
+    @Test
+    public void testLineList() {
+        final FileContents o = new FileContents(
+                FileText.fromLines(new File("filename"), Arrays.asList("a", "b")));
+        final List<String> lines = o.getLineList();
+        assertSame(lines, o.getLineList());
+        assertEquals(Arrays.asList("a", "b"), lines);
+        assertEquals("b", o.getLine(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLineListIsReadOnly() {
+        final FileContents o = new FileContents(
+                FileText.fromLines(new File("filename"), Arrays.asList("a", "b")));
+        o.getLineList().set(0, "c");
+    }
+
+    @Test
+    public void testCCommentIntersect() {
+        final FileContents o = new FileContents(
+                FileText.fromLines(new File("filename"), Arrays.asList(
+                        "a /* b */ c /* d",
+                        "e */ f /* g */")));
+        o.reportCComment(2, 7, 2, 13);
+        o.reportCComment(1, 2, 1, 8);
+        o.reportCComment(1, 12, 2, 3);
+        assertFalse(o.hasIntersectionWithComment(1, 0, 1, 1));
+        assertTrue(o.hasIntersectionWithComment(1, 0, 1, 2));
+        assertTrue(o.hasIntersectionWithComment(1, 8, 1, 10));
+        assertFalse(o.hasIntersectionWithComment(1, 9, 1, 11));
+        assertTrue(o.hasIntersectionWithComment(1, 9, 2, 0));
+        assertFalse(o.hasIntersectionWithComment(2, 4, 2, 6));
+        assertTrue(o.hasIntersectionWithComment(2, 13, 2, 14));
+
+        o.reportCComment(2, 5, 2, 5);
+        assertTrue(o.hasIntersectionWithComment(2, 4, 2, 6));
+    }
+
+    @Test
+    public void testCommentViewsAreCached() {
+        final FileContents o = new FileContents(
+                FileText.fromLines(new File("filename"), Arrays.asList(
+                        "/* a */ // b", "/* c */")));
+        o.reportCComment(1, 0, 1, 6);
+        o.reportCppComment(1, 8);
+        assertSame(o.getCComments(), o.getCComments());
+        assertSame(o.getCppComments(), o.getCppComments());
+        assertEquals(1, o.getCComments().size());
+
+        o.reportCComment(2, 0, 2, 6);
+        assertEquals(2, o.getCComments().size());
+        assertEquals(1, o.getCComments().get(2).size());
+    }
+
+    @Test
+    public void testJavadocModelIsShared() {
+        final FileContents o = new FileContents(
+                FileText.fromLines(new File("filename"), Arrays.asList(
+                        "/** @see a */", "class A {", "/** @see b */", "}")));
+        o.reportCComment(1, 0, 1, 12);
+        o.reportCComment(3, 0, 3, 12);
+        final TextBlock first = o.getJavadocBefore(2);
+        final TextBlock second = o.getJavadocBefore(4);
+        assertSame(first, o.getJavadocModel(first).getComment());
+        assertSame(o.getJavadocModel(first), o.getJavadocModel(o.getJavadocBefore(2)));
+        assertNotSame(o.getJavadocModel(first), o.getJavadocModel(second));
+    }
+
+    @Test
+    public void testGetCComment() {
+        final FileContents o = new FileContents(
+                FileText.fromLines(new File("filename"), Arrays.asList(
+                        "/* a */ /** b */", "/* c */")));
+        o.reportCComment(1, 0, 1, 6);
+        o.reportCComment(1, 8, 1, 15);
+        assertSame(o.getJavadocBefore(2), o.getCComment(1, 8));
+        assertEquals("/* a */", o.getCComment(1, 0).getText()[0]);
+        assertNull(o.getCComment(1, 2));
+        assertNull(o.getCComment(2, 0));
+    }
 }
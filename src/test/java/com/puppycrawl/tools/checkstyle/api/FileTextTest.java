@@ -19,16 +19,26 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class FileTextTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testUnsupportedCharset() throws IOException {
         // just to make UT coverage 100%
@@ -50,4 +60,48 @@ public class FileTextTest {
                  + "checkstyle/api/import-control_complete.xml"), charsetName);
         assertEquals(charsetName, o.getCharset().name());
     }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "a\r\nb\rc\n\nd".getBytes(StandardCharsets.UTF_8));
+        final FileText fileText = new FileText(file, "UTF-8");
+        assertEquals(Arrays.asList("a", "b", "c", "", "d"), fileText);
+        assertEquals("a\r\nb\rc\n\nd", fileText.getFullText().toString());
+        assertLineColumn(fileText.lineColumn(3), 2, 0);
+        assertLineColumn(fileText.lineColumn(5), 3, 0);
+        assertLineColumn(fileText.lineColumn(8), 5, 0);
+    }
+
+    @Test
+    public void testLineView() throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "first\r\nsecond\n".getBytes(StandardCharsets.UTF_8));
+        final FileText fileText = new FileText(file, "UTF-8");
+        assertEquals("second", fileText.getLineView(1).toString());
+        assertEquals("first", fileText.get(0));
+        assertSame(fileText.get(0), fileText.getLineView(0));
+        assertArrayEquals(new String[] {"first", "second"}, fileText.toLinesArray());
+    }
+
+    @Test
+    public void testTrailingLineTerminator() throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "a\n\n".getBytes(StandardCharsets.UTF_8));
+        final FileText fileText = new FileText(file, "UTF-8");
+        assertEquals(Arrays.asList("a", ""), fileText);
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final File file = temporaryFolder.newFile();
+        final FileText fileText = new FileText(file, "UTF-8");
+        assertEquals(0, fileText.size());
+        assertLineColumn(fileText.lineColumn(0), 1, 0);
+    }
+
+    private static void assertLineColumn(LineColumn lineColumn, int line, int column) {
+        assertEquals(line, lineColumn.getLine());
+        assertEquals(column, lineColumn.getColumn());
+    }
 }
@@ -22,11 +22,17 @@ package com.puppycrawl.tools.checkstyle.api;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_OBJECT_ARRAY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
@@ -35,6 +41,7 @@ import java.util.Locale;
 import org.junit.After;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
@@ -141,6 +148,81 @@ public class LocalizedMessageTest {
         assertEquals("Empty statement.", localizedMessage.getMessage());
     }
 
+    @Test
+    public void testCachedFormatsFollowLocale() {
+        final LocalizedMessage localizedMessage = createSampleLocalizedMessage();
+        LocalizedMessage.setLocale(Locale.FRENCH);
+        assertEquals("Instruction vide.", localizedMessage.getMessage());
+        assertEquals("Instruction vide.", localizedMessage.getMessage());
+
+        LocalizedMessage.setLocale(Locale.ENGLISH);
+        assertEquals("Empty statement.", localizedMessage.getMessage());
+    }
+
+    @Test
+    public void testCustomMessage() {
+        final LocalizedMessage localizedMessage = new LocalizedMessage(0,
+                "com.puppycrawl.tools.checkstyle.checks.coding.messages", "empty.statement",
+                new Object[] {"arg"}, "module", LocalizedMessage.class, "Custom {0}.");
+
+        assertEquals("Custom arg.", localizedMessage.getMessage());
+        assertEquals("Custom arg.", localizedMessage.getMessage());
+    }
+
+    @Test
+    public void testAppendMessage() {
+        LocalizedMessage.setLocale(Locale.ENGLISH);
+        final StringBuffer buffer = new StringBuffer("Error: ");
+
+        createSampleLocalizedMessage().appendMessage(buffer);
+        assertEquals("Error: Empty statement.", buffer.toString());
+    }
+
+    @Test
+    public void testCompareTo() {
+        final LocalizedMessage first = new LocalizedMessage(1, 1, "bundle", "key {0}",
+                new Object[] {"a"}, null, LocalizedMessage.class, null);
+        final LocalizedMessage same = new LocalizedMessage(1, 1, "bundle", "key {0}",
+                new Object[] {"a"}, null, LocalizedMessage.class, null);
+        final LocalizedMessage sameText = new LocalizedMessage(1, 1, "other", "key a",
+                EMPTY_OBJECT_ARRAY, null, LocalizedMessage.class, null);
+        final LocalizedMessage second = new LocalizedMessage(1, 1, "bundle", "key {0}",
+                new Object[] {"b"}, null, LocalizedMessage.class, null);
+
+        assertEquals(0, first.compareTo(same));
+        assertEquals(0, first.compareTo(sameText));
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    public void testMessagesOfOneKindShareRecord() throws Exception {
+        final LocalizedMessage first = new LocalizedMessage(1, 1, "bundle", "key {0}",
+                new Object[] {"a"}, "module", LocalizedMessage.class, null);
+        final LocalizedMessage second = new LocalizedMessage(2, 3, "bundle", "key {0}",
+                new Object[] {"b"}, "module", LocalizedMessage.class, null);
+        final LocalizedMessage otherModule = new LocalizedMessage(2, 3, "bundle", "key {0}",
+                new Object[] {"b"}, "other", LocalizedMessage.class, null);
+
+        assertSame(Whitebox.getInternalState(first, "kind"),
+                Whitebox.getInternalState(second, "kind"));
+        assertNotSame(Whitebox.getInternalState(second, "kind"),
+                Whitebox.getInternalState(otherModule, "kind"));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(second);
+        }
+        final LocalizedMessage restored;
+        try (final ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (LocalizedMessage) in.readObject();
+        }
+        assertEquals(second, restored);
+        assertEquals("key b", restored.getMessage());
+        assertSame(Whitebox.getInternalState(first, "kind"),
+                Whitebox.getInternalState(restored, "kind"));
+    }
+
     private static LocalizedMessage createSampleLocalizedMessage() {
         return new LocalizedMessage(0, "com.puppycrawl.tools.checkstyle.checks.coding.messages",
                 "empty.statement", EMPTY_OBJECT_ARRAY, "module", LocalizedMessage.class, null);
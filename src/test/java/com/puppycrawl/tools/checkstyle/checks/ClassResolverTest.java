@@ -20,11 +20,13 @@
 package com.puppycrawl.tools.checkstyle.checks;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyObject;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Test;
@@ -33,6 +35,8 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 @RunWith(PowerMockRunner.class)
@@ -150,4 +154,55 @@ public class ClassResolverTest {
             assertTrue(e.getMessage().endsWith("expected exception"));
         }
     }
+
+    @Test
+    public void testOverriddenSafeLoad() throws Exception {
+        final Set<String> imports = Sets.newHashSet();
+        imports.add("some.pkg.Custom");
+        final ClassResolver classResolver = new ClassResolver(
+                Thread.currentThread().getContextClassLoader(), "", imports) {
+            @Override
+            public Class<?> safeLoad(String name) throws ClassNotFoundException {
+                Class<?> clazz = Integer.class;
+                if (!"some.pkg.Custom".equals(name)) {
+                    clazz = super.safeLoad(name);
+                }
+                return clazz;
+            }
+        };
+
+        assertTrue(classResolver.isLoadable("some.pkg.Custom"));
+        assertEquals(Integer.class, classResolver.resolve("Custom", ""));
+        assertEquals(String.class, classResolver.resolve("String", ""));
+    }
+
+    @Test
+    public void testLoadedClassesAreShared() throws Exception {
+        final Set<String> imports = Sets.newHashSet();
+        final Map<String, Optional<Class<?>>> loadedClasses = Maps.newHashMap();
+        final ClassResolver classResolver = new ClassResolver(
+                Thread.currentThread().getContextClassLoader(),
+                "java.util", imports, loadedClasses);
+
+        assertEquals(String.class, classResolver.resolve("String", ""));
+        assertFalse(classResolver.isLoadable("java.util.Unknown"));
+        assertEquals(Optional.of(String.class), loadedClasses.get("java.lang.String"));
+        assertFalse(loadedClasses.get("java.util.Unknown").isPresent());
+
+        // known results are not loaded again
+        loadedClasses.put("java.util.Unknown", Optional.<Class<?>>of(Integer.class));
+        final ClassResolver otherResolver = new ClassResolver(
+                Thread.currentThread().getContextClassLoader(),
+                "java.util", imports, loadedClasses);
+        assertEquals(Integer.class, otherResolver.resolve("Unknown", ""));
+
+        loadedClasses.put("java.util.List", Optional.<Class<?>>absent());
+        try {
+            otherResolver.safeLoad("java.util.List");
+            fail("Exception expected");
+        }
+        catch (ClassNotFoundException ex) {
+            assertEquals("java.util.List", ex.getMessage());
+        }
+    }
 }
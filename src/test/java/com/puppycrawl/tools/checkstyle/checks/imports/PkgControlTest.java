@@ -71,6 +71,29 @@ public class PkgControlTest {
                 "org.hibernate.something", "com.kazgroup.courtlink"));
     }
 
+    @Test
+    public void testLastAddedGuardDecides() {
+        final PkgControl pc = new PkgControl("pkg");
+        pc.addGuard(new Guard(true, false, "org.a.B", false));
+        pc.addGuard(new Guard(false, false, "org.a", false, false));
+        pc.addGuard(new Guard(true, false, "org\\..*", false, true));
+        pc.addGuard(new Guard(false, false, "org.a.C", false));
+
+        assertEquals(AccessResult.ALLOWED, pc.checkAccess("org.a.B", "pkg"));
+        assertEquals(AccessResult.DISALLOWED, pc.checkAccess("org.a.C", "pkg"));
+        assertEquals(AccessResult.ALLOWED, pc.checkAccess("org.b.D", "pkg"));
+        assertEquals(AccessResult.DISALLOWED, pc.checkAccess("net.a.B", "pkg"));
+    }
+
+    @Test
+    public void testLocateFinestFirstChildWins() {
+        final PkgControl root = new PkgControl("pkg");
+        final PkgControl longer = new PkgControl(root, "ab");
+        final PkgControl shorter = new PkgControl(root, "a");
+        assertEquals(longer, root.locateFinest("pkg.ab.c"));
+        assertEquals(shorter, root.locateFinest("pkg.ac"));
+    }
+
     @Test
     public void testUnknownPkg() {
         assertNull(pcRoot.locateFinest("net.another"));
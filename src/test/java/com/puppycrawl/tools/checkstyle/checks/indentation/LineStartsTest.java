@@ -0,0 +1,54 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.indentation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LineStartsTest {
+
+    @Test
+    public void testLineStarts() {
+        final List<String> lines =
+                Arrays.asList("class A {", "    int a;", "\tint b;", "  \t  int c;", "   ");
+        final LineStarts lineStarts = new LineStarts(lines, 8);
+
+        assertEquals(0, lineStarts.getLineStart(1));
+        assertEquals(4, lineStarts.getLineStart(2));
+        assertEquals(8, lineStarts.getLineStart(3));
+        assertEquals(10, lineStarts.getLineStart(4));
+        assertEquals(3, lineStarts.getLineStart(5));
+    }
+
+    @Test
+    public void testExpandedColumnNo() {
+        final List<String> lines = Arrays.asList("int a; // x", "\tint b;\t// y");
+        final LineStarts lineStarts = new LineStarts(lines, 4);
+
+        assertEquals(7, lineStarts.getExpandedColumnNo(1, 7));
+        assertEquals(0, lineStarts.getExpandedColumnNo(2, 0));
+        assertEquals(4, lineStarts.getExpandedColumnNo(2, 1));
+        assertEquals(12, lineStarts.getExpandedColumnNo(2, 8));
+    }
+}
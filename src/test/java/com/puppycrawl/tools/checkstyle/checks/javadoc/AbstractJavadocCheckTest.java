@@ -23,16 +23,26 @@ import static com.puppycrawl.tools.checkstyle.checks.javadoc.AbstractJavadocChec
 import static com.puppycrawl.tools.checkstyle.checks.javadoc.AbstractJavadocCheck.JAVADOC_WRONG_SINGLETON_TAG;
 import static com.puppycrawl.tools.checkstyle.checks.javadoc.AbstractJavadocCheck.PARSE_ERROR_MESSAGE_KEY;
 import static com.puppycrawl.tools.checkstyle.checks.javadoc.AbstractJavadocCheck.UNRECOGNIZED_ANTLR_ERROR_MESSAGE_KEY;
+import static com.puppycrawl.tools.checkstyle.checks.javadoc.NonEmptyAtclauseDescriptionCheck.MSG_KEY;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.BaseCheckTestSupport;
 import com.puppycrawl.tools.checkstyle.Checker;
@@ -128,6 +138,83 @@ public class AbstractJavadocCheckTest extends BaseCheckTestSupport {
         verify(checkConfig, getPath("InputTestUnclosedTagAndInvalidAtSeeReference.java"), expected);
     }
 
+    @Test
+    public void testLexerStateClearedBetweenComments() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createCheckConfig(NonEmptyAtclauseDescriptionCheck.class);
+        // the lexer ends each comment where tags are not recognized,
+        // single line comments starting with a tag need that state cleared
+        final String[] expected = {
+            "5: " + getCheckMessage(MSG_KEY),
+            "11: " + getCheckMessage(MSG_KEY),
+            "16: " + getCheckMessage(MSG_KEY),
+        };
+        verify(checkConfig, getPath("InputJavadocLexerState.java"), expected);
+    }
+
+    @Test
+    public void testParseErrorOfFullParseAndParserReuse() throws Exception {
+        final DefaultConfiguration checkConfig = createCheckConfig(TempCheck.class);
+        // the comment fails the fast parse, the error is the one of the full parse
+        final Map<String, List<String>> expectedMessages = new LinkedHashMap<>(2);
+        expectedMessages.put(getPath("InputTestNumberFormatException.java"), singletonList(
+            "3: " + getCheckMessage(PARSE_ERROR_MESSAGE_KEY, 52, "no viable "
+                + "alternative at input '<ul><li>a' {@link EntityEntry} (by way of {@link #;' "
+                + "while parsing HTML_TAG")
+        ));
+        expectedMessages.put(getPath("InputCorrectJavaDocParagraph.java"),
+            Collections.<String>emptyList());
+        final int fullParseCount = getFullParseCount();
+        verify(createChecker(checkConfig), new File[] {
+            new File(getPath("InputTestNumberFormatException.java")),
+            new File(getPath("InputCorrectJavaDocParagraph.java")), }, expectedMessages);
+        assertTrue("comment not parsed again in full", getFullParseCount() > fullParseCount);
+    }
+
+    private static int getFullParseCount() throws Exception {
+        final Field parserPoolField = AbstractJavadocCheck.class.getDeclaredField("PARSER_POOL");
+        parserPoolField.setAccessible(true);
+        final Object parserPool = ((ThreadLocal<?>) parserPoolField.get(null)).get();
+        return (Integer) Whitebox.getInternalState(parserPool, "fullParseCount");
+    }
+
+    @Test
+    public void testCommentParsedOnceByAllChecks() throws Exception {
+        verifyCommentsParsedOnce(RootRecordingCheck.class, OtherRootRecordingCheck.class);
+        verifyCommentsParsedOnce(OtherRootRecordingCheck.class, RootRecordingCheck.class);
+    }
+
+    private void verifyCommentsParsedOnce(Class<?> firstCheck, Class<?> secondCheck)
+            throws Exception {
+        RootRecordingCheck.ROOTS.clear();
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        final DefaultConfiguration checksConfig = createCheckConfig(TreeWalker.class);
+        checksConfig.addChild(createCheckConfig(firstCheck));
+        checksConfig.addChild(createCheckConfig(secondCheck));
+        checkerConfig.addChild(checksConfig);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+
+        // the file is walked twice
+        final File file = new File(getPath("InputCorrectJavaDocParagraph.java"));
+        verify(checker, new File[] {file, file}, file.getPath());
+
+        // both checks visit each comment in turn and get the same tree
+        final List<DetailNode> roots = RootRecordingCheck.ROOTS;
+        assertFalse("no Javadoc comment", roots.isEmpty());
+        assertEquals("comment missed", 0, roots.size() % 4);
+        for (int i = 0; i < roots.size(); i += 2) {
+            assertSame("comment parsed twice", roots.get(i), roots.get(i + 1));
+        }
+
+        // the trees are kept with the file contents of one walk only
+        final int walkSize = roots.size() / 2;
+        for (int i = 0; i < walkSize; i++) {
+            assertNotSame("tree kept after the walk", roots.get(i), roots.get(i + walkSize));
+        }
+    }
+
     private static class TempCheck extends AbstractJavadocCheck {
 
         @Override
@@ -150,4 +237,21 @@ public class AbstractJavadocCheckTest extends BaseCheckTestSupport {
             // do nothing
         }
     }
+
+    private static class RootRecordingCheck extends TempCheck {
+        private static final List<DetailNode> ROOTS = new ArrayList<>();
+
+        @Override
+        public int[] getDefaultJavadocTokens() {
+            return new int[0];
+        }
+
+        @Override
+        public void beginJavadocTree(DetailNode rootAst) {
+            ROOTS.add(rootAst);
+        }
+    }
+
+    private static class OtherRootRecordingCheck extends RootRecordingCheck {
+    }
 }
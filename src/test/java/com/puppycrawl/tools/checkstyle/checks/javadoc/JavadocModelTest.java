@@ -0,0 +1,89 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2015 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.javadoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.Comment;
+import com.puppycrawl.tools.checkstyle.api.TextBlock;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+public class JavadocModelTest {
+    private static final String[] TEXT = {
+        "/** Text with <b>bold</b> {@link String} and <i>",
+        " * @param arg the",
+        " *     argument",
+        " * @return {@code true}",
+        " * @foo unknown */",
+    };
+
+    @Test
+    public void testTagsAreExtractedOnce() {
+        final JavadocModel model = new JavadocModel(createComment());
+        final JavadocTags blockTags = model.getTags(JavadocUtils.JavadocTagType.BLOCK);
+        assertSame(blockTags, model.getTags(JavadocUtils.JavadocTagType.BLOCK));
+        assertEquals(2, blockTags.getValidTags().size());
+        assertEquals(1, blockTags.getInvalidTags().size());
+
+        final JavadocTags inlineTags = model.getTags(JavadocUtils.JavadocTagType.INLINE);
+        assertEquals(2, inlineTags.getValidTags().size());
+        assertEquals("link", inlineTags.getValidTags().get(0).getTagName());
+    }
+
+    @Test
+    public void testMethodTags() {
+        final JavadocModel model = new JavadocModel(createComment());
+        final List<JavadocTag> tags = model.getMethodTags();
+        assertSame(tags, model.getMethodTags());
+        assertEquals(2, tags.size());
+        assertEquals("param", tags.get(0).getTagName());
+        assertEquals("arg", tags.get(0).getFirstArg());
+        assertEquals(11, tags.get(0).getLineNo());
+        assertEquals("return", tags.get(1).getTagName());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMethodTagsAreReadOnly() {
+        final JavadocModel model = new JavadocModel(createComment());
+        model.getMethodTags().clear();
+    }
+
+    @Test
+    public void testHtmlTags() {
+        final JavadocModel model = new JavadocModel(createComment());
+        final List<HtmlTag> tags = model.getHtmlTags();
+        assertSame(tags, model.getHtmlTags());
+        assertEquals(3, tags.size());
+        assertEquals("b", tags.get(0).getId());
+        assertEquals("b", tags.get(1).getId());
+        assertTrue(tags.get(1).isCloseTag());
+        assertEquals("i", tags.get(2).getId());
+    }
+
+    private static TextBlock createComment() {
+        return new Comment(TEXT, 0, 14, 17);
+    }
+}
@@ -56,6 +56,20 @@ public class SuppressElementTest {
         assertFalse("Names match", filter.accept(ev));
     }
 
+    @Test
+    public void testDecideByPlainFileName() {
+        final LocalizedMessage message =
+            new LocalizedMessage(0, 0, "", "", null, null, getClass(), null);
+        final SuppressElement plainFilter = new SuppressElement("A\\.Test");
+        assertFalse("Contains name", plainFilter.accept(
+            new AuditEvent(this, "src/A.Test.java", message)));
+        assertTrue("Escaped dot", plainFilter.accept(
+            new AuditEvent(this, "src/AbTest.java", message)));
+        final SuppressElement regexpFilter = new SuppressElement("A.Test");
+        assertFalse("Any character", regexpFilter.accept(
+            new AuditEvent(this, "src/AbTest.java", message)));
+    }
+
     @Test
     public void testDecideByLine() {
         final LocalizedMessage message =
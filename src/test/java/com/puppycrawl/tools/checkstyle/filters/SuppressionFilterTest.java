@@ -24,6 +24,7 @@ import org.junit.Test;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
@@ -48,4 +49,24 @@ public class SuppressionFilterTest {
         Assert.assertTrue(filter.accept(ev));
     }
 
+    @Test
+    public void testAcceptEventsOfSeveralFiles() throws CheckstyleException {
+        final SuppressionFilter filter = new SuppressionFilter();
+        filter.setFile("src/test/resources/com/puppycrawl/tools/checkstyle/filters/"
+            + "suppressions_files.xml");
+
+        Assert.assertFalse(filter.accept(createEvent("File1.java", 3, 1)));
+        Assert.assertTrue(filter.accept(createEvent("File1.java", 6, 1)));
+        Assert.assertFalse(filter.accept(createEvent("File2.java", 6, 3)));
+        Assert.assertTrue(filter.accept(createEvent("File2.java", 3, 4)));
+        Assert.assertFalse(filter.accept(createEvent("File1.java", 2, 4)));
+        Assert.assertTrue(filter.accept(createEvent("File4.java", 2, 3)));
+        Assert.assertTrue(filter.accept(new AuditEvent(this, "File1.java", null)));
+    }
+
+    private AuditEvent createEvent(String fileName, int line, int column) {
+        final LocalizedMessage message =
+            new LocalizedMessage(line, column, "", "", null, null, getClass(), null);
+        return new AuditEvent(this, fileName, message);
+    }
 }
@@ -24,12 +24,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.List;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.junit.Assert;
 import org.junit.Test;
@@ -278,6 +280,20 @@ public class JavadocParseTreeTest {
         compareTrees(expectedTree, generatedTree);
     }
 
+    @Test
+    public void lexerStateClearedOnNewInput() {
+        final JavadocLexer lexer = new JavadocLexer(new ANTLRInputStream("text {@code <p>"));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        lexer.getAllTokens();
+
+        // the previous input ended inside an inline tag that turned off HTML tags
+        lexer.setInputStream(new ANTLRInputStream("<p>}"));
+        final List<? extends Token> tokens = lexer.getAllTokens();
+        Assert.assertEquals(JavadocLexer.OPEN, tokens.get(0).getType());
+        Assert.assertEquals(JavadocLexer.CHAR, tokens.get(tokens.size() - 1).getType());
+    }
+
     private void compareTrees(ParseTree t1, ParseTree t2) {
         Assert.assertEquals(t1.toStringTree(parser), t2.toStringTree(parser));
     }
@@ -0,0 +1,20 @@
+package com.puppycrawl.tools.checkstyle.checks.javadoc;
+
+/** Text with inline tag {@code <b>}. */
+class InputJavadocLexerState {
+    /** @deprecated */
+    void deprecated() {
+    }
+
+    /**
+     * Text.
+     * @param a
+     */
+    void param(int a) {
+    }
+
+    /** @return */
+    int value() {
+        return 0;
+    }
+}